@@ -0,0 +1,50 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Synthetic decks are split into ten lessons that are registered after the bundled ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class LessonRangeBenchmark {
+    private static final int FIRST_SYNTHETIC_LESSON = 1000;
+    private static final int SYNTHETIC_LESSONS = 10;
+
+    @Param({SyntheticDecks.BUNDLED, "10000", "100000", "1000000"})
+    public String deck;
+
+    private int lower;
+    private int upper;
+
+    @Setup
+    public void setUp() throws IOException {
+        if (SyntheticDecks.BUNDLED.equals(deck)) {
+            lower = 0;
+            upper = 12;
+            LessonLoader.getAll(); // wait for the background loading
+            return;
+        }
+        List<Vocabulary> vocabularies = SyntheticDecks.vocabularies(deck);
+        int lessonSize = vocabularies.size() / SYNTHETIC_LESSONS;
+        for (int i = 0; i < SYNTHETIC_LESSONS; i++) {
+            LessonLoader.putLesson(FIRST_SYNTHETIC_LESSON + i, vocabularies.subList(i * lessonSize, (i + 1) * lessonSize));
+        }
+        lower = FIRST_SYNTHETIC_LESSON;
+        upper = FIRST_SYNTHETIC_LESSON + SYNTHETIC_LESSONS - 1;
+    }
+
+    @Benchmark
+    public List<Vocabulary> getRange() {
+        return LessonLoader.getRange(lower, upper);
+    }
+}
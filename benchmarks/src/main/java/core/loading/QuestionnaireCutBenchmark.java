@@ -0,0 +1,53 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Removes every n-th vocabulary of the deck until cutSize vocabularies are excluded.
+ * The deck is loaded again before every invocation because cut changes it.
+ */
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 5)
+@Measurement(iterations = 10)
+@Fork(1)
+public class QuestionnaireCutBenchmark {
+    private static final int LESSON = 2000;
+
+    @Param({SyntheticDecks.BUNDLED, "10000", "100000", "1000000"})
+    public String deck;
+
+    @Param({"100"})
+    public int cutSize;
+
+    private final QuestionnaireLoader questionnaireLoader = new QuestionnaireLoader();
+    private List<Vocabulary> cut;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        List<Vocabulary> vocabularies = SyntheticDecks.vocabularies(deck);
+        LessonLoader.putLesson(LESSON, vocabularies);
+        cut = new ArrayList<>(cutSize);
+        int step = Math.max(vocabularies.size() / cutSize, 1);
+        for (int i = 0; i < vocabularies.size() && cut.size() < cutSize; i += step) {
+            cut.add(vocabularies.get(i));
+        }
+    }
+
+    @Setup(Level.Invocation)
+    public void load() {
+        questionnaireLoader.clear().loadLesson(LESSON);
+    }
+
+    @Benchmark
+    public QuestionnaireLoader cut() {
+        return questionnaireLoader.cut(cut);
+    }
+}
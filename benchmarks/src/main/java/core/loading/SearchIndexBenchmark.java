@@ -0,0 +1,52 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Prefix searches with one to four letters taken from random meanings of the deck.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SearchIndexBenchmark {
+    private static final int QUERIES = 1024;
+
+    @Param({SyntheticDecks.BUNDLED, "10000", "100000", "1000000"})
+    public String deck;
+
+    private SearchIndex index;
+    private final String[] queries = new String[QUERIES];
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Vocabulary> vocabularies = SyntheticDecks.vocabularies(deck);
+        index = SearchIndex.of(Map.of(deck, vocabularies));
+        SplittableRandom random = new SplittableRandom(42);
+        for (int i = 0; i < QUERIES; i++) {
+            Vocabulary vocabulary = vocabularies.get(random.nextInt(vocabularies.size()));
+            String meaning = random.nextBoolean() ? vocabulary.getJapanese().getFirst() : vocabulary.getEnglishGerman().getFirst();
+            queries[i] = meaning.substring(0, Math.min(meaning.length(), 1 + random.nextInt(4)));
+        }
+    }
+
+    @Benchmark
+    public List<SearchIndex.Hit> search() {
+        return index.search(queries[next++ & (QUERIES - 1)], 20);
+    }
+
+    @Benchmark
+    public int count() {
+        return index.count(queries[next++ & (QUERIES - 1)]);
+    }
+}
@@ -0,0 +1,31 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class SquashBenchmark {
+    @Param({SyntheticDecks.BUNDLED, "10000", "100000", "1000000"})
+    public String deck;
+
+    private List<Vocabulary> vocabularies;
+
+    @Setup
+    public void setUp() throws IOException {
+        vocabularies = SyntheticDecks.vocabularies(deck);
+    }
+
+    @Benchmark
+    public List<Vocabulary> squashSameJapaneseMeanings() {
+        return ThemeLoader.squashSameJapaneseMeanings(vocabularies);
+    }
+}
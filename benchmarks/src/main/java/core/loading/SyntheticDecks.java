@@ -0,0 +1,124 @@
+package core.loading;
+
+import core.util.ReaderWriterUtility;
+import model.Vocabulary;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Decks the benchmarks run against. 'bundled' stands for the csv files shipped with the trainer,
+ * a number for a generated deck with that many entries.
+ */
+public class SyntheticDecks {
+    public static final String BUNDLED = "bundled";
+    private static final String[] SYLLABLES = {
+            "ka", "ki", "ku", "ke", "ko", "sa", "shi", "su", "se", "so",
+            "ta", "chi", "tsu", "te", "to", "na", "ni", "nu", "ne", "no",
+            "ha", "hi", "fu", "he", "ho", "ma", "mi", "mu", "me", "mo"
+    };
+    private static final String[] BUNDLED_STANDARD = {
+            "vocabularies/lessons/l6.csv", "vocabularies/lessons/l7.csv", "vocabularies/lessons/l8.csv",
+            "vocabularies/lessons/l9.csv", "vocabularies/lessons/l10.csv", "vocabularies/lessons/l11.csv",
+            "vocabularies/lessons/l12.csv", "vocabularies/themes/positions/positions.csv",
+            "vocabularies/themes/social_relations/ownFamily.csv", "vocabularies/themes/social_relations/otherFamily.csv"
+    };
+    private static final String BUNDLED_COUNTER = "vocabularies/themes/counter/book.csv";
+
+    private SyntheticDecks() {}
+
+    /**
+     * @return the deck as csv in the standard format
+     */
+    public static String standardCsv(String deck) throws IOException {
+        if (BUNDLED.equals(deck)) {
+            StringBuilder sb = new StringBuilder();
+            for (String path : BUNDLED_STANDARD) {
+                sb.append(read(path)).append('\n');
+            }
+            return sb.toString();
+        }
+        int size = Integer.parseInt(deck);
+        StringBuilder sb = new StringBuilder(size * 40);
+        for (int i = 0; i < size; i++) {
+            sb.append(japanese(i)).append(':').append("meaning ").append(i).append(",bedeutung ").append(i).append('\n');
+        }
+        return sb.toString();
+    }
+
+    /**
+     * @return the deck as csv in the counter format, ending with a question in the standard format
+     */
+    public static String counterCsv(String deck) throws IOException {
+        if (BUNDLED.equals(deck)) {
+            return read(BUNDLED_COUNTER);
+        }
+        int size = Integer.parseInt(deck);
+        StringBuilder sb = new StringBuilder(size * 12);
+        for (int i = 0; i < size; i++) {
+            sb.append(japanese(i)).append("-satsu\n");
+        }
+        return sb.append("nan-satsu:question book,frage buch\n").toString();
+    }
+
+    /**
+     * @return amount of numbered lines in the counter csv of the deck
+     */
+    public static int counterLines(String deck) {
+        return BUNDLED.equals(deck) ? 10 : Integer.parseInt(deck);
+    }
+
+    /**
+     * Synthetic decks contain every fifth japanese word twice with different meanings,
+     * the bundled deck consists of all lessons and the unmerged counters.
+     * @return parsed deck
+     */
+    public static List<Vocabulary> vocabularies(String deck) throws IOException {
+        if (BUNDLED.equals(deck)) {
+            List<Vocabulary> vocabularies = new ArrayList<>(LessonLoader.getAll());
+            for (String counterName : ThemeLoader.getCOUNTER_NAMES()) {
+                vocabularies.addAll(ThemeLoader.getCounterByName(counterName));
+            }
+            return vocabularies;
+        }
+        int size = Integer.parseInt(deck);
+        List<Vocabulary> vocabularies = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            vocabularies.add(new Vocabulary(
+                    new ArrayList<>(List.of(japanese(i * 4 / 5))),
+                    new ArrayList<>(List.of("meaning " + i, "bedeutung " + i))
+            ));
+        }
+        return vocabularies;
+    }
+
+    public static BufferedReader reader(String csv) {
+        return new BufferedReader(new StringReader(csv));
+    }
+
+    /**
+     * @return a romaji word that is unique for i
+     */
+    static String japanese(int i) {
+        StringBuilder sb = new StringBuilder();
+        do {
+            sb.append(SYLLABLES[i % SYLLABLES.length]);
+            i /= SYLLABLES.length;
+        } while (i > 0);
+        return sb.toString();
+    }
+
+    private static String read(String path) throws IOException {
+        StringBuilder sb = new StringBuilder();
+        try (BufferedReader br = ReaderWriterUtility.getReader(path)) {
+            String line;
+            while ((line = br.readLine()) != null) {
+                sb.append(line).append('\n');
+            }
+        }
+        return sb.toString();
+    }
+}
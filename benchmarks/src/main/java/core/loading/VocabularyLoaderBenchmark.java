@@ -0,0 +1,43 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of csv content that is already in memory, so only the parser is measured and not the disk.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class VocabularyLoaderBenchmark {
+    @Param({SyntheticDecks.BUNDLED, "10000", "100000", "1000000"})
+    public String deck;
+
+    private String standardCsv;
+    private String counterCsv;
+    private int counterLines;
+
+    @Setup
+    public void setUp() throws IOException {
+        standardCsv = SyntheticDecks.standardCsv(deck);
+        counterCsv = SyntheticDecks.counterCsv(deck);
+        counterLines = SyntheticDecks.counterLines(deck);
+    }
+
+    @Benchmark
+    public List<Vocabulary> loadStandardFormat() throws IOException {
+        return new VocabularyLoader(SyntheticDecks.reader(standardCsv)).loadStandardFormat();
+    }
+
+    @Benchmark
+    public List<Vocabulary> loadCounterFormat() throws IOException {
+        return new VocabularyLoader(SyntheticDecks.reader(counterCsv)).loadCounterFormat(counterLines + 1, true, "book");
+    }
+}
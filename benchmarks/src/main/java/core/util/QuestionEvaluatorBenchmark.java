@@ -0,0 +1,50 @@
+package core.util;
+
+import core.loading.SyntheticDecks;
+import model.Side;
+import model.Vocabulary;
+import org.openjdk.jmh.annotations.*;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Grading of one answer the way QuestionEvaluator does it for every question.
+ * The answers are prepared up front and alternate between correct and incorrect ones.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QuestionEvaluatorBenchmark {
+    private static final int ANSWERS = 1024;
+
+    @Param({SyntheticDecks.BUNDLED, "10000", "100000", "1000000"})
+    public String deck;
+
+    private AnswerIndex.Grader grader;
+    private final int[] questioned = new int[ANSWERS];
+    private final String[] answers = new String[ANSWERS];
+    private int next;
+
+    @Setup
+    public void setUp() throws IOException {
+        List<Vocabulary> vocabularies = SyntheticDecks.vocabularies(deck);
+        grader = AnswerIndex.of(vocabularies).grader();
+        for (int i = 0; i < ANSWERS; i++) {
+            questioned[i] = (int) ((long) i * vocabularies.size() / ANSWERS);
+            List<String> solution = vocabularies.get(questioned[i]).getEnglishGerman();
+            answers[i] = (i & 1) == 0 ? String.join(", ", solution).toLowerCase() : "definitely wrong, " + solution.getFirst();
+        }
+    }
+
+    @Benchmark
+    public boolean gradeAnswer() {
+        int i = next;
+        next = (next + 1) & (ANSWERS - 1);
+        return grader.isCorrect(questioned[i], Side.ENGLISH_GERMAN, answers[i]);
+    }
+}
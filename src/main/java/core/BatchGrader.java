@@ -0,0 +1,253 @@
+package core;
+
+import core.loading.QuestionnaireLoader;
+import core.loading.ThemeLoader;
+import core.loading.VocabularyIndex;
+import core.util.AnswerIndex;
+import core.util.Grade;
+import core.util.QuestionOrder;
+import model.Questionnaire;
+import model.Side;
+import model.Vocabulary;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.stream.IntStream;
+
+/**
+ * Grades a file of answers without any dialog.
+ * The questions are planned from a seed, so the same deck and seed always ask the same questions in the same order.
+ * The order is the one of the system property 'vocabtrainer.order'. Orders that depend on the grades, like 'sm2',
+ * are graded one answer after the other, all others are planned ahead and graded in parallel.
+ * The n-th line of the answer file answers the n-th question. The result is written as tab separated values.
+ */
+public class BatchGrader {
+    public static final String USAGE = "Usage: --batch <decks> <seed> <answer file> [result file]%n"
+            + "decks: '+' separated list of lessons:all, lessons:6,7, counter:all, counter:book,age, days:all,%n"
+            + "days:weekdays, days:month, positions, directions, families, families:own, families:other%n";
+    // answers graded by one task, so the graders are reused and the tasks are still worth scheduling
+    private static final int CHUNK_SIZE = 4096;
+
+    private final List<Vocabulary> vocabularies;
+    private final AnswerIndex answerIndex;
+
+    public BatchGrader(Questionnaire questionnaire) {
+        this.vocabularies = questionnaire.getVocabularies();
+        this.answerIndex = AnswerIndex.of(questionnaire);
+    }
+
+    /**
+     * Runs the batch mode with the command line arguments that follow '--batch'
+     */
+    public static void run(String[] args) throws IOException {
+        if (args.length < 3 || args.length > 4) {
+            System.err.printf(USAGE);
+            return;
+        }
+        Path answerFile = Path.of(args[2]);
+        Path resultFile = args.length == 4 ? Path.of(args[3]) : Path.of(args[2] + ".results.tsv");
+        long seed;
+        Questionnaire questionnaire;
+        try {
+            seed = Long.parseLong(args[1]);
+            questionnaire = loadDecks(args[0]).collect();
+        } catch (IllegalArgumentException e) { // also an invalid number
+            System.err.printf("Invalid argument: %s%n", e.getMessage());
+            System.err.printf(USAGE);
+            return;
+        }
+        if (questionnaire.getVocabularies().isEmpty()) {
+            System.err.printf("The decks '%s' contain no vocabularies.%n", args[0]);
+            return;
+        }
+        List<String> answers = Files.readAllLines(answerFile, StandardCharsets.UTF_8);
+        BatchGrader grader = new BatchGrader(questionnaire);
+        QuestionOrder order = QuestionOrder.create(questionnaire.getVocabularies().size(), seed);
+        Plan plan;
+        Grade[] grades;
+        if (order.dependsOnGrades()) {
+            plan = new Plan(new int[answers.size()], new Side[answers.size()]);
+            grades = grader.gradeInOrder(order, plan, answers);
+        } else {
+            plan = grader.plan(order, answers.size());
+            grades = grader.grade(plan, answers);
+        }
+        grader.write(resultFile, plan, answers, grades);
+        int[] counts = new int[Grade.values().length];
+        for (Grade grade : grades) {
+            counts[grade.ordinal()]++;
+        }
+        System.out.printf("Graded %s answers: %s correct, %s near misses, %s wrong. Results are in %s%n",
+                grades.length, counts[Grade.CORRECT.ordinal()], counts[Grade.NEAR_MISS.ordinal()],
+                counts[Grade.WRONG.ordinal()], resultFile);
+    }
+
+    /**
+     * Selects the decks of the specification, e.g. 'lessons:6,7+counter:book'
+     * @throws IllegalArgumentException if a kind or name of a deck is unknown
+     */
+    static QuestionnaireLoader loadDecks(String specification) {
+        QuestionnaireLoader loader = new QuestionnaireLoader();
+        for (String deck : specification.toLowerCase().split("\\+")) {
+            String[] kindAndNames = deck.split(":", 2);
+            String names = kindAndNames.length == 2 ? kindAndNames[1].trim() : "all";
+            switch (kindAndNames[0].trim()) {
+                case "lessons" -> {
+                    if (names.equals("all")) {
+                        loader.loadAllLessons();
+                    } else {
+                        for (String lesson : names.split(",")) {
+                            int number = Integer.parseInt(lesson.trim());
+                            if (VocabularyIndex.lesson(number) == null) {
+                                throw unknown(deck);
+                            }
+                            loader.loadLesson(number);
+                        }
+                    }
+                }
+                case "counter" -> {
+                    if (names.equals("all")) {
+                        loader.loadAllCounter();
+                    } else {
+                        for (String counter : names.split(",")) {
+                            if (!ThemeLoader.getCOUNTER_NAMES().contains(counter.trim())) {
+                                throw new IllegalArgumentException("Unknown counter '%s', the counters are %s"
+                                        .formatted(counter.trim(), String.join(",", ThemeLoader.getCOUNTER_NAMES())));
+                            }
+                            loader.loadCounterByName(counter.trim());
+                        }
+                    }
+                }
+                case "days" -> {
+                    switch (names) {
+                        case "all" -> loader.loadDays();
+                        case "weekdays" -> loader.loadWeekDays();
+                        case "month" -> loader.loadMonthDays();
+                        default -> throw unknown(deck);
+                    }
+                }
+                case "positions" -> {
+                    requireAll(deck, names);
+                    loader.loadPositions();
+                }
+                case "directions" -> {
+                    requireAll(deck, names);
+                    loader.loadDirections();
+                }
+                case "families" -> {
+                    switch (names) {
+                        case "all" -> loader.loadFamilies();
+                        case "own" -> loader.loadOwnFamily();
+                        case "other" -> loader.loadOtherFamily();
+                        default -> throw unknown(deck);
+                    }
+                }
+                default -> throw unknown(deck);
+            }
+        }
+        return loader;
+    }
+
+    private static void requireAll(String deck, String names) {
+        if (!names.equals("all")) {
+            throw unknown(deck);
+        }
+    }
+
+    private static IllegalArgumentException unknown(String deck) {
+        return new IllegalArgumentException("Unknown deck '%s'".formatted(deck));
+    }
+
+    /**
+     * Plans which vocabulary is asked and which side has to be answered, for orders that don't depend on the grades.
+     * With the order created from a seed the plan equals the questions of an interactive session
+     * started with '-Dvocabtrainer.seed=seed'.
+     */
+    Plan plan(QuestionOrder order, int questions) {
+        int[] asked = new int[questions];
+        Side[] solutions = new Side[questions];
+        for (int i = 0; i < questions; i++) {
+            asked[i] = order.next();
+            solutions[i] = order.solution();
+        }
+        return new Plan(asked, solutions);
+    }
+
+    /**
+     * Grades the answers in parallel. Every chunk of answers gets its own grader, graders aren't thread safe.
+     */
+    Grade[] grade(Plan plan, List<String> answers) {
+        Grade[] grades = new Grade[answers.size()];
+        int chunks = (answers.size() + CHUNK_SIZE - 1) / CHUNK_SIZE;
+        IntStream.range(0, chunks).parallel().forEach(chunk -> {
+            AnswerIndex.Grader grader = answerIndex.grader();
+            int end = Math.min(answers.size(), (chunk + 1) * CHUNK_SIZE);
+            for (int i = chunk * CHUNK_SIZE; i < end; i++) {
+                grades[i] = grader.grade(plan.asked()[i], plan.solutions()[i], answers.get(i).trim());
+            }
+        });
+        return grades;
+    }
+
+    /**
+     * Asks and grades the answers one after the other and reports every grade to the order
+     * @param plan filled with the questions that were asked
+     */
+    Grade[] gradeInOrder(QuestionOrder order, Plan plan, List<String> answers) {
+        Grade[] grades = new Grade[answers.size()];
+        AnswerIndex.Grader grader = answerIndex.grader();
+        for (int i = 0; i < grades.length; i++) {
+            plan.asked()[i] = order.next();
+            plan.solutions()[i] = order.solution();
+            grades[i] = grader.grade(plan.asked()[i], plan.solutions()[i], answers.get(i).trim());
+            order.graded(plan.asked()[i], grades[i]);
+        }
+        return grades;
+    }
+
+    private void write(Path resultFile, Plan plan, List<String> answers, Grade[] grades) throws IOException {
+        // every side of a vocabulary is formatted once, decks are much smaller than answer files
+        String[] sides = new String[2 * vocabularies.size()];
+        try (BufferedWriter bw = Files.newBufferedWriter(resultFile, StandardCharsets.UTF_8)) {
+            bw.write("question\tvocabulary\tasked\tanswer\tgrade\tsolution\n");
+            for (int i = 0; i < grades.length; i++) {
+                int vocabulary = plan.asked()[i];
+                Side solution = plan.solutions()[i];
+                bw.write(Integer.toString(i + 1));
+                bw.write('\t');
+                bw.write(Integer.toString(vocabulary));
+                bw.write('\t');
+                bw.write(side(sides, vocabulary, solution.other()));
+                bw.write('\t');
+                bw.write(field(answers.get(i).trim()));
+                bw.write('\t');
+                bw.write(grades[i].name());
+                bw.write('\t');
+                bw.write(side(sides, vocabulary, solution));
+                bw.write('\n');
+            }
+        }
+    }
+
+    private String side(String[] sides, int vocabulary, Side side) {
+        int i = 2 * vocabulary + side.ordinal();
+        if (sides[i] == null) {
+            sides[i] = field(side.of(vocabularies.get(vocabulary)));
+        }
+        return sides[i];
+    }
+
+    private static String field(Object value) {
+        return value.toString().replace('\t', ' ').replace('\n', ' ').replace('\r', ' ');
+    }
+
+    /**
+     * @param asked position of the vocabulary of every question
+     * @param solutions side that holds the solutions of every question
+     */
+    record Plan(int[] asked, Side[] solutions) {}
+}
@@ -1,14 +1,18 @@
 package core;
 
+import core.loading.LoadingService;
 import core.loading.QuestionnaireLoader;
+import core.monitoring.Metrics;
+import core.progress.ProgressStore;
 import core.selecting.LessonSelector;
+import core.selecting.SearchSelector;
 import core.selecting.ThemeSelector;
 import core.util.QuestionEvaluator;
+import core.util.SessionIO;
 import model.Questionnaire;
 
-import java.io.*;
-
-import static core.util.ReaderWriterUtility.*;
+import java.io.IOException;
+import java.util.Arrays;
 
 public class Main {
     private static final String INTRO =
@@ -19,26 +23,57 @@ public class Main {
     private static final String SELECT_MODE =
             """
                 Select the the mode. You can choose between lessons (type '$lessons') or themes (type '$theme')\r
+                You can look up a word with '$search'.\r
             """;
 
+    /**
+     * Starts the trainer on the console. With '--server [port]' learners connect via TCP instead,
+     * with '--batch' a file of answers is graded without any dialog.
+     */
     public static void main(String[] args) throws IOException {
-        BufferedReader br = new BufferedReader(new InputStreamReader(System.in));
-        BufferedWriter bw = new BufferedWriter(new PrintWriter(System.out));
-        QuestionnaireLoader questionnaireLoader = new QuestionnaireLoader();
-        writeAndFlush(bw, INTRO);
-        while (true){
-            writeFlushWait(bw, SELECT_MODE);
-            questionnaireLoader.clear();
-            if (selectedMode(br, bw, questionnaireLoader)){
-                Questionnaire questionnaire = questionnaireLoader.collect();
-                QuestionEvaluator.eval(
-                        br, bw,
-                        questionnaire.getVocabularies(),
-                        questionnaire.getInfoText()
-                );
-            }else {
+        // parse all decks while the user reads the intro and picks a mode
+        LoadingService.preloadAll();
+        if (args.length > 0 && args[0].equals("--server")){
+            int port = args.length > 1 ? SessionServer.parsePort(args[1]) : SessionServer.DEFAULT_PORT;
+            if (port < 0 || args.length > 2){
+                System.err.printf(SessionServer.USAGE);
                 return;
             }
+            new SessionServer(port).serve();
+            return;
+        }else if (args.length > 0 && args[0].equals("--batch")){
+            BatchGrader.run(Arrays.copyOfRange(args, 1, args.length));
+            return;
+        }
+        try (SessionIO io = SessionIO.console()){
+            runSession(io, ProgressStore.defaultLearner());
+        }
+    }
+
+    /**
+     * Runs the dialog of one learner until they exit
+     * @param io input and output of the learner
+     * @param learner name the progress of the session is recorded for
+     */
+    static void runSession(SessionIO io, String learner) throws IOException {
+        QuestionnaireLoader questionnaireLoader = new QuestionnaireLoader();
+        Metrics.get().sessionStarted();
+        try {
+            io.write(INTRO);
+            while (true){
+                io.writeWait(SELECT_MODE);
+                questionnaireLoader.clear();
+                if (!selectedMode(io, questionnaireLoader)){
+                    return;
+                }
+                // searching or an unknown mode selects no deck, the mode is asked again
+                if (!questionnaireLoader.isEmpty()){
+                    Questionnaire questionnaire = questionnaireLoader.collect();
+                    QuestionEvaluator.eval(io, questionnaire, learner);
+                }
+            }
+        } finally {
+            Metrics.get().sessionEnded();
         }
     }
 
@@ -47,20 +82,24 @@ public class Main {
      * Valid modes are lesson and theme which can be selected by the corresponding code word
      * @return true if the user does not want to exit
      */
-    private static boolean selectedMode(BufferedReader br, BufferedWriter bw, QuestionnaireLoader questionnaireLoader) throws IOException {
-        String s = readLine(br);
+    private static boolean selectedMode(SessionIO io, QuestionnaireLoader questionnaireLoader) throws IOException {
+        String s = io.readLine();
         return switch (s){
             case "$exit" -> false;
             case "$lessons"-> {
-                LessonSelector.selectLessons(br, bw, questionnaireLoader);
+                LessonSelector.selectLessons(io, questionnaireLoader);
                 yield true;
             }
             case "$theme" -> {
-                ThemeSelector.selectTheme(br, bw, questionnaireLoader);
+                ThemeSelector.selectTheme(io, questionnaireLoader);
+                yield true;
+            }
+            case "$search" -> {
+                SearchSelector.search(io);
                 yield true;
             }
             default -> {
-                writeAndFlush(bw, "Unexpected value: %s%n%n".formatted(s));
+                io.write("Unexpected value: %s%n%n".formatted(s));
                 yield true;
             }
         };
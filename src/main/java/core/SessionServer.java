@@ -0,0 +1,116 @@
+package core;
+
+import core.progress.ProgressStore;
+import core.util.SessionIO;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.logging.Logger;
+
+/**
+ * Serves the trainer over TCP with the same line based dialog as the console.
+ * Every connection is a session on its own virtual thread, so thousands of learners can be served by one JVM.
+ * All sessions share the loaded decks, which are only read.
+ * The server only listens on the loopback address and doesn't authenticate anyone: every local user
+ * may connect and the name a learner types is trusted, so a learner can continue the progress of any name.
+ */
+public class SessionServer {
+    public static final int DEFAULT_PORT = 7777;
+    public static final String USAGE = "Usage: --server [port]%n"
+            + "port: local port between 0 and 65535, default " + DEFAULT_PORT + ", 0 picks a free one%n";
+    private static final Logger logger = Logger.getLogger("SessionServer");
+    private static final int BACKLOG = 1024;
+
+    private final AtomicInteger openSessions = new AtomicInteger();
+    private final ServerSocketChannel serverChannel;
+
+    /**
+     * Binds the server to the loopback address
+     * @param port local port, 0 picks a free one
+     */
+    public SessionServer(int port) throws IOException {
+        this.serverChannel = ServerSocketChannel.open()
+                .bind(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), BACKLOG);
+    }
+
+    public int getPort() throws IOException {
+        return ((InetSocketAddress) serverChannel.getLocalAddress()).getPort();
+    }
+
+    public int getOpenSessions() {
+        return openSessions.get();
+    }
+
+    /**
+     * Accepts connections until the server is closed
+     */
+    public void serve() throws IOException {
+        logger.info("Serving sessions on port %s".formatted(getPort()));
+        int sessionCounter = 0;
+        while (serverChannel.isOpen()) {
+            SocketChannel channel;
+            try {
+                channel = serverChannel.accept();
+            } catch (ClosedChannelException e) { // closed while waiting
+                return;
+            }
+            Thread.ofVirtual().name("session-" + sessionCounter++).start(() -> runSession(channel));
+        }
+    }
+
+    public void close() throws IOException {
+        serverChannel.close();
+    }
+
+    /**
+     * @param port command line argument
+     * @return the port or -1 if it isn't one
+     */
+    public static int parsePort(String port) {
+        try {
+            int parsed = Integer.parseInt(port.trim());
+            return parsed >= 0 && parsed <= 0xFFFF ? parsed : -1;
+        } catch (NumberFormatException e) {
+            return -1;
+        }
+    }
+
+    private void runSession(SocketChannel channel) {
+        openSessions.incrementAndGet();
+        try (channel; SessionIO io = SessionIO.of(channel)) {
+            String learner = askLearner(io);
+            if (learner != null) {
+                Main.runSession(io, learner);
+            }
+        } catch (IOException | RuntimeException e) { // a learner that disconnects must not affect the others
+            logger.fine("Session ended abnormally: %s".formatted(e));
+        } finally {
+            openSessions.decrementAndGet();
+        }
+    }
+
+    /**
+     * Asks the learner of a connection for their name, their progress is recorded for it.
+     * Without a progress store nothing is recorded and the name of the session is used.
+     * @return name of the learner, null if they exit
+     */
+    private static String askLearner(SessionIO io) throws IOException {
+        if (ProgressStore.configured() == null) {
+            return Thread.currentThread().getName();
+        }
+        io.writeWait("Please type your name. Your progress is saved under it.\r\n");
+        String name = io.readLine().trim();
+        if (name.equals("$exit")) {
+            return null;
+        } else if (!ProgressStore.isValidLearner(name)) {
+            io.write("A name has 1 to 32 characters: letters, digits, '_' or '-'.\r\n");
+            return askLearner(io);
+        }
+        return name;
+    }
+}
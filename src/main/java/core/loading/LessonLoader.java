@@ -4,37 +4,83 @@ import model.Vocabulary;
 
 import java.io.*;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.logging.Logger;
 
 public class LessonLoader {
-    private static final Map<Integer, List<Vocabulary>> lessons = new HashMap<>();
-    static {
-        lessons.put(0,new ArrayList<>());
-        lessons.put(1,new ArrayList<>());
-        lessons.put(2,new ArrayList<>());
-        lessons.put(3,new ArrayList<>());
-        lessons.put(4,new ArrayList<>());
-        lessons.put(5,new ArrayList<>());
-        //TODO cursed csv structure
-        loadLesson(6);
-        loadLesson(7);
-        loadLesson(8);
-        loadLesson(9);
-        loadLesson(10);
-        loadLesson(11);
-        loadLesson(12);
+    private static final Map<Integer, CompletableFuture<List<Vocabulary>>> lessons = new ConcurrentHashMap<>();
+    private static volatile boolean submitted;
+
+    /**
+     * Starts loading the lessons if that did not happen yet. Lessons are parsed in parallel,
+     * getVocabulary waits for the one it needs. Every numbered lesson of the manifest is loaded,
+     * a new lesson only needs its file
+     * @return the lessons that are loading or loaded
+     */
+    static CompletableFuture<Void> preload(){
+        if (!submitted) {
+            for (VocabularyIndex.Entry entry : VocabularyIndex.all(VocabularyIndex.LESSON)) {
+                int lesson = entry.lesson();
+                if (lesson >= 0) {
+                    // a lesson that was put or reloaded meanwhile is kept
+                    lessons.computeIfAbsent(lesson, l -> LoadingService.submit(() -> loadLesson(l)));
+                }
+            }
+            submitted = true;
+            Logger.getLogger("LessonLoader").fine("Loading %s lessons".formatted(lessons.size()));
+        }
+        return CompletableFuture.allOf(lessons.values().toArray(CompletableFuture[]::new));
+    }
+
+    /**
+     * @return the lessons, loading starts if nobody called {@link #preload()} before
+     */
+    private static Map<Integer, CompletableFuture<List<Vocabulary>>> lessons(){
+        if (!submitted) {
+            preload();
+        }
+        return lessons;
     }
 
     /**
-     * Loads lessons into the map
+     * Replaces the vocabularies of a lesson or adds a new lesson
+     * @param lesson number of the lesson
+     * @param vocabularies new vocabularies of the lesson
+     */
+    static void putLesson(int lesson, List<Vocabulary> vocabularies){
+        lessons.put(lesson, CompletableFuture.completedFuture(vocabularies));
+        QuestionnaireLoader.clearSnapshots();
+        SearchIndex.invalidate();
+    }
+
+    /**
+     * Parses the file of a lesson again and swaps the lesson. Questionnaires that were collected before keep the old one.
+     * @param lesson number of the lesson
+     */
+    static void reload(int lesson){
+        putLesson(lesson, loadLesson(lesson));
+    }
+
+    /**
+     * Loads a lesson
      * @param i number of the lesson
+     * @return vocabularies of the lesson, empty if it couldn't be loaded
      */
-    private static void loadLesson(int i){
-        String path = "vocabularies/lessons/l%s.csv".formatted(i);
+    private static List<Vocabulary> loadLesson(int i){
+        VocabularyIndex.Entry entry = VocabularyIndex.lesson(i);
+        if (entry == null){
+            Logger.getLogger("LessonLoader").fine("There is no file for lesson '%s'.".formatted(i));
+            return List.of();
+        }
         try {
-            lessons.put(i, new VocabularyLoader(path).loadStandardFormat());
+            return VocabularyIndex.load(entry);
+        } catch (FileNotFoundException e) {
+            Logger.getLogger("LessonLoader").fine("There is no file for lesson '%s'.".formatted(i));
+            return List.of();
         } catch (IOException e) {
             Logger.getLogger("LessonSelector").warning("Error loading lesson '%s'.".formatted(i));
+            return List.of();
         }
     }
 
@@ -44,7 +90,7 @@ public class LessonLoader {
      */
     protected static List<Vocabulary> getAll(){
         List<Vocabulary> vocabularies = new ArrayList<>();
-        for (int i = 0; i < lessons.size(); i++) {
+        for (int i : new TreeSet<>(lessons().keySet())) {
             vocabularies.addAll(getVocabulary(i));
         }
         return vocabularies;
@@ -70,7 +116,7 @@ public class LessonLoader {
     protected static List<Vocabulary> getRange(int lower, int upper){
         List<Vocabulary> vocabularies = new ArrayList<>();
         for (int i = lower; i < upper+1; i++) {
-            if (lessons.get(i)!=null){
+            if (lessons().get(i)!=null){
                 List<Vocabulary> tmp = getVocabulary(i);
                 if (!tmp.isEmpty()){
                     vocabularies.addAll(getVocabulary(i));
@@ -87,19 +133,20 @@ public class LessonLoader {
      * @return List of vocabularies
      */
     protected static List<Vocabulary> getRange(int lower){
-        return getRange(lower, lessons.size());
+        return getRange(lower, lessons().isEmpty() ? lower : Collections.max(lessons.keySet()));
     }
 
     /**
      * Gets the vocabulary for a specific lesson
      * @param lesson number of the lesson
-     * @return null if lesson does not exist
+     * @return empty list if lesson does not exist
      */
     protected static List<Vocabulary> getVocabulary(int lesson){
-        if (lessons.size() < lesson){
+        CompletableFuture<List<Vocabulary>> vocabularies = lessons().get(lesson);
+        if (vocabularies == null){
             Logger.getLogger("LessonLoader").warning("Lesson '%s' does not exist. It was skipped.".formatted(lesson));
             return new ArrayList<>();
         }
-        return lessons.get(lesson);
+        return vocabularies.join();
     }
 }
@@ -0,0 +1,35 @@
+package core.loading;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Supplier;
+
+/**
+ * Parses vocabulary files in the background. Every file gets its own virtual thread,
+ * so loading all of them costs about as much as the largest one.
+ */
+public class LoadingService {
+    private static final ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+
+    private LoadingService() {}
+
+    /**
+     * Starts loading all lessons and themes and watching the external vocabulary directory. Returns immediately,
+     * callers that need a deck later on only wait for the files of that deck.
+     */
+    public static void preloadAll() {
+        LessonLoader.preload();
+        ThemeLoader.preload();
+        VocabularyDirectory.watch();
+    }
+
+    /**
+     * Runs the task on its own virtual thread
+     * @param task loading task
+     * @return future of the result
+     */
+    static <T> CompletableFuture<T> submit(Supplier<T> task) {
+        return CompletableFuture.supplyAsync(task, executor);
+    }
+}
@@ -1,150 +1,240 @@
 package core.loading;
 
+import core.monitoring.CollectEvent;
+import core.monitoring.Metrics;
+import core.util.AnswerIndex;
 import lombok.NoArgsConstructor;
 import lombok.Setter;
 import model.Questionnaire;
 import model.Vocabulary;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
 
 @NoArgsConstructor
 public class QuestionnaireLoader {
+    private static final String DEFAULT_INFO = "Only god can help you.";
+    private static final int MAX_SNAPSHOTS = Integer.getInteger("vocabtrainer.questionnaires.maxCached", 256);
+    // snapshots of recent selections, the least recently used one is dropped first
+    private static final Map<Selection, Questionnaire> snapshots = new LinkedHashMap<>(16, 0.75f, true) {
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<Selection, Questionnaire> eldest) {
+            return size() > MAX_SNAPSHOTS;
+        }
+    };
+    // increased by clearSnapshots, vocabularies loaded before that must not be cached
+    private static volatile long generation;
+
     private final List<Vocabulary> vocabularies = new ArrayList<>();
+    // names of the loaded decks in the order they were loaded
+    private final List<String> decks = new ArrayList<>();
+    // files of the manifest the vocabularies were taken from
+    private final Set<VocabularyIndex.Entry> sources = new LinkedHashSet<>();
+    private boolean shareable = true;
+    // generation of the snapshots when loading started
+    private long loadedGeneration = generation;
     @Setter
-    private String info = "Only god can help you.";
+    private String info = DEFAULT_INFO;
 
     /**
-     *
-     * @return current state of the list
+     * Assembles the deck. The meanings of all vocabularies are normalized once here.
+     * Loading the same decks with the same info again yields the same snapshot, so sessions share it.
+     * @return immutable snapshot of the current state
      */
     public Questionnaire collect(){
-        return new Questionnaire(vocabularies, info);
+        CollectEvent event = new CollectEvent();
+        event.begin();
+        long start = System.nanoTime();
+        Questionnaire snapshot = snapshot();
+        Metrics.get().assemblyLatency(System.nanoTime() - start);
+        event.commit(decks, snapshot.getVocabularies().size(), shareable);
+        return snapshot;
+    }
+
+    private Questionnaire snapshot(){
+        String name = decks.isEmpty() ? Questionnaire.UNNAMED : String.join("+", decks);
+        if (!shareable){
+            return assemble(name);
+        }
+        Selection selection = new Selection(List.copyOf(decks), info);
+        synchronized (snapshots){
+            Questionnaire snapshot = snapshots.get(selection);
+            if (snapshot != null){
+                return snapshot;
+            }
+        }
+        Questionnaire snapshot = assemble(name);
+        synchronized (snapshots){
+            if (loadedGeneration != generation){ // a deck changed while loading, the vocabularies may be outdated
+                return snapshot;
+            }
+            Questionnaire witness = snapshots.putIfAbsent(selection, snapshot);
+            return witness == null ? snapshot : witness;
+        }
     }
 
     /**
-     * Removes the specified vocabularies from the whole list
+     * Copies the vocabularies, finds the file of every vocabulary and builds their answer index
+     */
+    private Questionnaire assemble(String name){
+        Questionnaire questionnaire = new Questionnaire(name, vocabularies, deckIds(), info);
+        AnswerIndex.of(questionnaire);
+        return questionnaire;
+    }
+
+    /**
+     * Vocabularies are matched by their japanese meanings, so combined ones like squashed counters are found as well.
+     * If several files have the same japanese meanings the first one that was loaded wins.
+     * @return manifest id of the file of every vocabulary, null if none of the loaded files has it
+     */
+    private List<String> deckIds(){
+        Map<List<String>, String> files = new HashMap<>();
+        for (VocabularyIndex.Entry source : sources){
+            List<Vocabulary> deck;
+            if (source.kind().equals(VocabularyIndex.LESSON)){
+                deck = source.lesson() >= 0 ? LessonLoader.getVocabulary(source.lesson()) : List.of();
+            }else {
+                deck = ThemeLoader.getTheme(source.group(), source.name(), "%s was skipped".formatted(source.id()));
+            }
+            for (Vocabulary vocabulary : deck){
+                files.putIfAbsent(vocabulary.getJapanese(), source.id());
+            }
+        }
+        List<String> deckIds = new ArrayList<>(vocabularies.size());
+        for (Vocabulary vocabulary : vocabularies){
+            deckIds.add(files.get(vocabulary.getJapanese()));
+        }
+        return deckIds;
+    }
+
+    /**
+     * Removes every vocabulary that equals one of the specified vocabularies, in one pass over the list.
+     * The result depends on the cut vocabularies, so it is never shared with other selections.
      * @param cut These will be removed
      * @return List that does not include the vocabularies of cut
      */
     public QuestionnaireLoader cut(List<Vocabulary> cut){
-        cut.forEach(this.vocabularies::remove);
+        Set<Vocabulary> excluded = new HashSet<>(cut);
+        vocabularies.removeIf(excluded::contains);
+        shareable = false;
         return this;
     }
 
     /**
-     * Empties the vocabulary list
+     * Empties the vocabulary list and resets the info
      * @return this instance with empty vocabulary list
      */
     public QuestionnaireLoader clear(){
         vocabularies.clear();
+        decks.clear();
+        sources.clear();
+        shareable = true;
+        info = DEFAULT_INFO;
+        loadedGeneration = generation;
         return this;
     }
 
+    /**
+     * @return true if no deck was loaded since the last clear
+     */
+    public boolean isEmpty(){
+        return decks.isEmpty();
+    }
+
+    /**
+     * Drops all snapshots, e.g. because the decks changed
+     */
+    static void clearSnapshots(){
+        synchronized (snapshots){
+            generation++;
+            snapshots.clear();
+        }
+    }
+
     //----------------- LESSONS ------------------------//
     public QuestionnaireLoader loadAllLessons(){
-        vocabularies.addAll(LessonLoader.getAll());
-        return this;
+        return add("lessons", LessonLoader.getAll(), VocabularyIndex.all(VocabularyIndex.LESSON));
     }
 
     public QuestionnaireLoader loadLesson(int i){
-        vocabularies.addAll(LessonLoader.getVocabulary(i));
-
-        return this;
+        return add("lesson:" + i, LessonLoader.getVocabulary(i), lessons(i, i));
     }
 
     public QuestionnaireLoader loadRangeLessons(int[] range){
-        vocabularies.addAll(LessonLoader.getRange(range));
-        return this;
+        return add("lessons:" + Arrays.toString(range), LessonLoader.getRange(range),
+                range.length == 0 ? List.of() : lessons(range[0], range.length >= 2 ? range[1] : Integer.MAX_VALUE));
     }
 
     //----------------- COUNTER ------------------------//
     public QuestionnaireLoader loadAllCounter(){
-        vocabularies.addAll(ThemeLoader.getCounters());
-        return this;
+        return add("counters", ThemeLoader.getCounters(), themes("counter", null));
     }
     public QuestionnaireLoader loadCounterByName(String name){
-        vocabularies.addAll(ThemeLoader.getCounterByName(name));
-        return this;
-    }
-    public QuestionnaireLoader loadBookCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("book"));
-        return this;
-    }
-    public QuestionnaireLoader loadAgeCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("age"));
-        return this;
-    }
-    public QuestionnaireLoader loadFloorsOfBuildingsCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("floors_of_buildings"));
-        return this;
-    }public QuestionnaireLoader loadFrequencyCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("frequency"));
-        return this;
-    }
-    public QuestionnaireLoader loadGeneralCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("general"));
-        return this;
-    }
-    public QuestionnaireLoader loadGlassesCupsCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("glasses_cups"));
-        return this;
-    }
-    public QuestionnaireLoader loadLongSlenderCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("long_slender"));
-        return this;
-    }
-    public QuestionnaireLoader loadMachinesVehiclesCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("machines_vehicles"));
-        return this;
-    }
-    public QuestionnaireLoader loadOrderCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("order"));
-        return this;
-    }public QuestionnaireLoader loadPeopleCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("people"));
-        return this;
-    }public QuestionnaireLoader loadSmallCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("small"));
-        return this;
-    }
-    public QuestionnaireLoader loadThinFlatCounter(){
-        vocabularies.addAll(ThemeLoader.getCounterByName("thin_flat"));
-        return this;
+        return add("counter:" + name, ThemeLoader.getCounterByName(name), themes("counter", name));
     }
     //------------------- DAYS ---------------------------------------//
     public QuestionnaireLoader loadDays(){
-        vocabularies.addAll(ThemeLoader.getDays());
-        return this;
+        return add("days", ThemeLoader.getDays(), themes("days", null));
     }
     public QuestionnaireLoader loadWeekDays(){
-        vocabularies.addAll(ThemeLoader.getWeek());
-        return this;
+        return add("week", ThemeLoader.getWeek(), themes("days", "week"));
     }
     public QuestionnaireLoader loadMonthDays(){
-        vocabularies.addAll(ThemeLoader.getMonth());
-        return this;
+        return add("month", ThemeLoader.getMonth(), themes("days", "month"));
     }
     //------------------- POSITIONS ------------------------------------//
     public QuestionnaireLoader loadPositions(){
-        vocabularies.addAll(ThemeLoader.getPositions());
-        return this;
+        return add("positions", ThemeLoader.getPositions(), themes("positions", "positions"));
     }
     public QuestionnaireLoader loadDirections(){
-        vocabularies.addAll(ThemeLoader.getDirections());
-        return this;
+        return add("directions", ThemeLoader.getDirections(), themes("positions", "directions"));
     }
     //------------------ SOCIAL RELATIONS ------------------------------//
     public QuestionnaireLoader loadFamilies(){
-        vocabularies.addAll(ThemeLoader.getFamilies());
-        return this;
+        return add("families", ThemeLoader.getFamilies(), themes("social_relations", null));
     }
     public QuestionnaireLoader loadOwnFamily(){
-        vocabularies.addAll(ThemeLoader.getOwnFamily());
-        return this;
+        return add("ownFamily", ThemeLoader.getOwnFamily(), themes("social_relations", "ownFamily"));
     }
     public QuestionnaireLoader loadOtherFamily(){
-        vocabularies.addAll(ThemeLoader.getOtherFamily());
+        return add("otherFamily", ThemeLoader.getOtherFamily(), themes("social_relations", "otherFamily"));
+    }
+
+    private QuestionnaireLoader add(String deck, List<Vocabulary> vocabularies, List<VocabularyIndex.Entry> sources){
+        this.decks.add(deck);
+        this.sources.addAll(sources);
+        this.vocabularies.addAll(vocabularies);
         return this;
     }
+
+    /**
+     * @return files of the lessons from lower to upper, both included
+     */
+    private static List<VocabularyIndex.Entry> lessons(int lower, int upper){
+        return VocabularyIndex.all(VocabularyIndex.LESSON).stream()
+                .filter(entry -> entry.lesson() >= lower && entry.lesson() <= upper)
+                .toList();
+    }
+
+    /**
+     * @param name name of the theme or null for every theme of the group
+     * @return files of the themes
+     */
+    private static List<VocabularyIndex.Entry> themes(String group, String name){
+        return VocabularyIndex.all(VocabularyIndex.THEME).stream()
+                .filter(entry -> entry.group().equals(group) && (name == null || entry.name().equals(name)))
+                .toList();
+    }
+
+    /**
+     * Decks and info a snapshot was assembled from
+     */
+    private record Selection(List<String> decks, String info) {}
 }
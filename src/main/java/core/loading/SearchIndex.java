@@ -0,0 +1,184 @@
+package core.loading;
+
+import core.util.NormalizedChars;
+import model.Vocabulary;
+
+import java.util.*;
+
+/**
+ * Prefix index over the romaji and the english/german meanings of all decks.
+ * Every meaning is normalized once and stored in one sorted array, a prefix query is a binary search
+ * followed by a scan over the matching range. Meanings of both sides share the array, so a search
+ * finds a vocabulary by its japanese word as well as by its translation.
+ * An index is immutable. The index of the loaded decks is built on first use and again after a deck changed.
+ */
+public final class SearchIndex {
+    // normalized meanings, sorted
+    private final String[] keys;
+    // for keys[i] the position of its vocabulary in hits
+    private final int[] postings;
+    private final Hit[] hits;
+    private static volatile SearchIndex current;
+    // increased whenever a deck changes, an index that was built meanwhile is outdated
+    private static volatile int generation;
+
+    /**
+     * A vocabulary found by a search
+     * @param deck name of the deck as used by the {@link QuestionnaireLoader}, e.g. 'lesson:6' or 'counter:book'
+     */
+    public record Hit(Vocabulary vocabulary, String deck) {}
+
+    private SearchIndex(String[] keys, int[] postings, Hit[] hits) {
+        this.keys = keys;
+        this.postings = postings;
+        this.hits = hits;
+    }
+
+    /**
+     * @return index over every lesson and theme that is loaded right now
+     */
+    public static SearchIndex current() {
+        SearchIndex index = current;
+        if (index == null) {
+            int built = generation;
+            index = of(loadedDecks());
+            synchronized (SearchIndex.class) { // same lock as invalidate, so a newer deck can't be overwritten
+                if (built == generation) {
+                    current = index;
+                }
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Drops the index of the loaded decks, e.g. because a deck was reloaded
+     */
+    static synchronized void invalidate() {
+        generation++;
+        current = null;
+    }
+
+    /**
+     * Builds an index
+     * @param decks vocabularies by the name of their deck
+     * @return immutable index
+     */
+    public static SearchIndex of(Map<String, List<Vocabulary>> decks) {
+        List<Hit> hits = new ArrayList<>();
+        List<Posting> postings = new ArrayList<>();
+        decks.forEach((deck, vocabularies) -> {
+            for (Vocabulary vocabulary : vocabularies) {
+                int hit = hits.size();
+                hits.add(new Hit(vocabulary, deck));
+                for (String meaning : vocabulary.getJapanese()) {
+                    postings.add(new Posting(NormalizedChars.normalize(meaning), hit));
+                }
+                for (String meaning : vocabulary.getEnglishGerman()) {
+                    postings.add(new Posting(NormalizedChars.normalize(meaning), hit));
+                }
+            }
+        });
+        Posting[] sorted = postings.toArray(Posting[]::new);
+        Arrays.parallelSort(sorted, Comparator.comparing(Posting::key).thenComparingInt(Posting::hit));
+        String[] keys = new String[sorted.length];
+        int[] positions = new int[sorted.length];
+        for (int i = 0; i < sorted.length; i++) {
+            keys[i] = sorted[i].key();
+            positions[i] = sorted[i].hit();
+        }
+        return new SearchIndex(keys, positions, hits.toArray(Hit[]::new));
+    }
+
+    /**
+     * Finds the vocabularies with a meaning that starts with the prefix. Case, umlauts and hyphens don't matter.
+     * @param prefix beginning of a romaji word or a translation
+     * @param limit maximum number of hits
+     * @return hits in the order of their matching meanings, every vocabulary of a deck at most once
+     */
+    public List<Hit> search(String prefix, int limit) {
+        String key = NormalizedChars.normalize(prefix);
+        if (key.isEmpty()) {
+            return List.of();
+        }
+        // a vocabulary can match with several meanings
+        Set<Integer> seen = new HashSet<>();
+        List<Hit> found = new ArrayList<>();
+        for (int i = lowerBound(key); i < keys.length && found.size() < limit && keys[i].startsWith(key); i++) {
+            if (seen.add(postings[i])) {
+                found.add(hits[postings[i]]);
+            }
+        }
+        return found;
+    }
+
+    /**
+     * @return number of meanings that start with the prefix
+     */
+    public int count(String prefix) {
+        String key = NormalizedChars.normalize(prefix);
+        return key.isEmpty() ? 0 : upperBound(key) - lowerBound(key);
+    }
+
+    /**
+     * @return number of indexed meanings
+     */
+    public int size() {
+        return keys.length;
+    }
+
+    /**
+     * Keys that start with the prefix follow each other, so the first key after them is found by bisection as well.
+     * Appending Character.MAX_VALUE to the prefix instead would miss keys that continue with that character.
+     * @return position of the first key that is greater than the prefix and doesn't start with it
+     */
+    private int upperBound(String prefix) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(prefix) < 0 || keys[middle].startsWith(prefix)) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * @return position of the first key that is not smaller than the given one
+     */
+    private int lowerBound(String key) {
+        int low = 0;
+        int high = keys.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (keys[middle].compareTo(key) < 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
+    }
+
+    /**
+     * Collects every deck of the manifest under the name the QuestionnaireLoader uses for it
+     */
+    private static Map<String, List<Vocabulary>> loadedDecks() {
+        Map<String, List<Vocabulary>> decks = new LinkedHashMap<>();
+        for (VocabularyIndex.Entry entry : VocabularyIndex.all(VocabularyIndex.LESSON)) {
+            if (entry.lesson() >= 0) {
+                decks.put("lesson:" + entry.lesson(), LessonLoader.getVocabulary(entry.lesson()));
+            }
+        }
+        for (VocabularyIndex.Entry entry : VocabularyIndex.all(VocabularyIndex.THEME)) {
+            String deck = entry.group().equals("counter") ? "counter:" + entry.name() : entry.name();
+            decks.put(deck, ThemeLoader.getTheme(entry.group(), entry.name(), "%s is not searchable".formatted(entry.id())));
+        }
+        return decks;
+    }
+
+    private record Posting(String key, int hit) {}
+}
@@ -1,6 +1,6 @@
 package core.loading;
 
-import lombok.Getter;
+import core.monitoring.SquashEvent;
 import model.Vocabulary;
 
 import java.io.IOException;
@@ -10,37 +10,65 @@ import java.util.logging.Logger;
 public class ThemeLoader {
     private static final String CLASS_NAME = "ThemeSelector";
     private static final Logger logger = Logger.getLogger("ThemeLoader");
-    @Getter // categories for the counter
-    private static final List<String> COUNTER_NAMES = new ArrayList<>(List.of(
-            "book", "floors_of_buildings", "frequency",
-            "general", "glasses_cups", "long_slender",
-            "machines_vehicles", "order", "people",
-            "small", "thin_flat"
-    ));
+    private static final String COUNTER = "counter";
+
+    /**
+     * @return categories for the counter, every counter deck of the manifest
+     */
+    public static List<String> getCOUNTER_NAMES(){
+        return VocabularyIndex.names(COUNTER);
+    }
+
+    /**
+     * Starts parsing every theme in the background. The results end up in the ThemeRepository.
+     */
+    static void preload(){
+        for (VocabularyIndex.Entry entry : VocabularyIndex.all(VocabularyIndex.THEME)){
+            LoadingService.submit(() -> getTheme(entry.group(), entry.name(), "%s was skipped".formatted(entry.id())));
+        }
+        // the combined themes wait for the files above instead of parsing them again
+        LoadingService.submit(ThemeLoader::getCounters);
+        LoadingService.submit(ThemeLoader::getDays);
+        LoadingService.submit(ThemeLoader::getFamilies);
+    }
+
+    /**
+     * Drops the theme of the file and the combined themes that contain it, then parses it again.
+     * Questionnaires that were collected before keep the old vocabularies.
+     * @param path resource path of the changed file
+     */
+    static void reload(String path){
+        ThemeRepository.invalidate(path);
+        if (path.startsWith("vocabularies/themes/counter/")){
+            ThemeRepository.invalidate("themes:counters");
+        }else if (path.startsWith("vocabularies/themes/days/")){
+            ThemeRepository.invalidate("themes:days");
+        }else if (path.startsWith("vocabularies/themes/social_relations/")){
+            ThemeRepository.invalidate("themes:families");
+        }
+        preload(); // cached themes return immediately, only the dropped ones are parsed
+    }
 
     /**
      * Gets a list of all vocabularies that are in relationship to titles of family members (e.g. brother, sister, father, ...)
      * @return List of vocabularies
      */
     protected static List<Vocabulary> getFamilies(){
+        return ThemeRepository.get("themes:families", ThemeLoader::loadFamilies);
+    }
+
+    private static List<Vocabulary> loadFamilies(){
         List<Vocabulary> vocabularies = new ArrayList<>(getOwnFamily());
         vocabularies.addAll(getOtherFamily());
         return squashSameJapaneseMeanings(vocabularies);
     }
 
     protected static List<Vocabulary> getOwnFamily(){
-        return new ArrayList<>(
-                getVocabulariesFromPath(
-                "vocabularies/themes/social_relations/ownFamily.csv",
-                "own families were skipped")
-        );
+        return getTheme("social_relations", "ownFamily", "own families were skipped");
     }
 
     protected static List<Vocabulary> getOtherFamily(){
-        return new ArrayList<>(getVocabulariesFromPath(
-                "vocabularies/themes/social_relations/otherFamily.csv",
-                "other families were skipped")
-        );
+        return getTheme("social_relations", "otherFamily", "other families were skipped");
     }
 
     /**
@@ -48,10 +76,7 @@ public class ThemeLoader {
      * @return List of vocabularies
      */
     protected static List<Vocabulary> getPositions() {
-        return getVocabulariesFromPath(
-                "vocabularies/themes/positions/positions.csv",
-                "positions were skipped"
-        );
+        return getTheme("positions", "positions", "positions were skipped");
     }
 
     /**
@@ -59,10 +84,7 @@ public class ThemeLoader {
      * @return List of vocabularies
      */
     protected static List<Vocabulary> getDirections() {
-        return getVocabulariesFromPath(
-                "vocabularies/themes/positions/directions.csv",
-                "directions were skipped"
-        );
+        return getTheme("positions", "directions", "directions were skipped");
     }
 
     /**
@@ -70,6 +92,10 @@ public class ThemeLoader {
      * @return List of vocabularies
      */
     protected static List<Vocabulary> getDays(){
+        return ThemeRepository.get("themes:days", ThemeLoader::loadDays);
+    }
+
+    private static List<Vocabulary> loadDays(){
         List<Vocabulary> vocabularies = new ArrayList<>(getMonth());
         vocabularies.addAll(getWeek());
         return vocabularies;
@@ -80,10 +106,7 @@ public class ThemeLoader {
      * @return List of vocabularies
      */
     protected static List<Vocabulary> getWeek() {
-        return getVocabulariesFromPath(
-                "vocabularies/themes/days/week.csv",
-                "week was skipped"
-        );
+        return getTheme("days", "week", "week was skipped");
     }
 
 
@@ -92,13 +115,7 @@ public class ThemeLoader {
      * @return List of vocabularies
      */
     protected static List<Vocabulary> getMonth() {
-        try {
-            String path = "vocabularies/themes/days/month.csv";
-            return new VocabularyLoader(path).loadCounterFormat(32, true, "");
-        } catch (IOException e) {
-            logger.warning("month was skipped");
-        }
-        return new ArrayList<>();
+        return getTheme("days", "month", "month was skipped");
     }
 
     /**
@@ -106,8 +123,12 @@ public class ThemeLoader {
      * @return List of all counter vocabularies
      */
     protected static List<Vocabulary> getCounters(){
+        return ThemeRepository.get("themes:counters", ThemeLoader::loadCounters);
+    }
+
+    private static List<Vocabulary> loadCounters(){
         List<Vocabulary> vocabularies = new ArrayList<>();
-        for (String counterName : COUNTER_NAMES){
+        for (String counterName : getCOUNTER_NAMES()){
             vocabularies.addAll(getCounterByName(counterName));
         }
         //some vocabularies are ambiguous.
@@ -122,60 +143,61 @@ public class ThemeLoader {
      * @return List of corresponding vocabularies
      */
     protected static List<Vocabulary> getCounterByName(String name) {
-        try {
-            String path = "vocabularies/themes/counter/%s.csv".formatted(name);
-            return new VocabularyLoader(path).loadCounterFormat(11, true, name);
-        } catch (IOException e) {
-            logger.warning("counter '%s' was skipped".formatted(name));
-        }
-        return new ArrayList<>();
+        return getTheme(COUNTER, name, "counter '%s' was skipped".formatted(name));
     }
 
     /**
-     * Vocabularies that have the same exact japanese meanings will be combined to one vocabulary
+     * Vocabularies that have the same exact japanese meanings will be combined to one vocabulary.
+     * Works on any deck in one pass. The order of first occurrence is kept and so is the order of the merged meanings.
      * @param vocabularies List of vocabularies to be filtered and reduced
      * @return new ArrayList with no ambiguity
      */
     public static List<Vocabulary> squashSameJapaneseMeanings(List<Vocabulary> vocabularies) {
-        List<Vocabulary> out = new ArrayList<>();
-        // merge words that have the same exact japanese meaning so that their english/japanese meanings are combined
-        for (int i = 0; i < vocabularies.size(); i++) {
-            Set<String> combined = new HashSet<>(vocabularies.get(i).getEnglishGerman());
-            for (int j = i+1; j < vocabularies.size(); j++) {
-                if (vocabularies.get(i).getJapanese().equals(vocabularies.get(j).getJapanese())){
-                    combined.addAll(vocabularies.get(j).getEnglishGerman());
-                    out.add(new Vocabulary(
-                            new ArrayList<>(vocabularies.get(i).getJapanese()),
-                            new ArrayList<>(combined)
-                    ));
-                }
-            }
-        }
-        // adds all words that are not yet contained in out but are in vocabularies
-        for (Vocabulary value : vocabularies) {
-            boolean canAdd = true;
-            for (Vocabulary vocabulary : out) {
-                if (vocabulary.getJapanese().equals(value.getJapanese())) {
-                    canAdd = false;
-                    break;
-                }
-            }
-            if (canAdd) {
-                out.add(value);
+        SquashEvent event = new SquashEvent();
+        event.begin();
+        // japanese meanings -> index of their group in out
+        Map<List<String>, Integer> groups = new HashMap<>(vocabularies.size() * 2);
+        List<Vocabulary> out = new ArrayList<>(vocabularies.size());
+        // only filled for groups that have more than one member
+        Map<Integer, Set<String>> combined = new HashMap<>();
+        for (Vocabulary vocabulary : vocabularies) {
+            Integer group = groups.putIfAbsent(vocabulary.getJapanese(), out.size());
+            if (group == null) {
+                out.add(vocabulary);
+            } else {
+                combined.computeIfAbsent(group, g -> new LinkedHashSet<>(out.get(g).getEnglishGerman()))
+                        .addAll(vocabulary.getEnglishGerman());
             }
         }
+        // merge words that have the same exact japanese meaning so that their english/german meanings are combined
+        combined.forEach((group, meanings) -> out.set(group, VocabularyPool.vocabulary(
+                out.get(group).getJapanese(),
+                new ArrayList<>(meanings)
+        )));
+        event.commit(vocabularies.size(), out.size());
         return out;
     }
 
     /**
-     * Collects the vocabularies that can be found under the specified path. To collect these the standard format is used.
-     * @param path Path to where the vocabularies lie.
-     * @param messageOnIOError If an io error occurs this message will be displayed
-     * @return List of vocabularies
+     * Collects the vocabularies of a theme of the manifest. The format of the file is taken from the manifest.
+     * The file is only parsed on the first call, afterwards the cached result is returned.
+     * @param group folder of the theme, e.g. 'counter'
+     * @param name name of the file without '.csv'
+     * @param messageOnIOError If the theme is unknown or an io error occurs this message will be displayed
+     * @return immutable List of vocabularies
      */
-    private static List<Vocabulary> getVocabulariesFromPath(String path, String messageOnIOError){
+    static List<Vocabulary> getTheme(String group, String name, String messageOnIOError){
+        VocabularyIndex.Entry entry = VocabularyIndex.theme(group, name);
+        if (entry == null){
+            logger.warning(messageOnIOError);
+            return List.of();
+        }
+        return ThemeRepository.get(entry.path(), () -> loadTheme(entry, messageOnIOError));
+    }
+
+    private static List<Vocabulary> loadTheme(VocabularyIndex.Entry entry, String messageOnIOError){
         try {
-            return new VocabularyLoader(path).loadStandardFormat();
+            return VocabularyIndex.load(entry);
         } catch (IOException e) {
             logger.warning(messageOnIOError);
         }
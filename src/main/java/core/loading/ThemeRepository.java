@@ -0,0 +1,97 @@
+package core.loading;
+
+import model.Vocabulary;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
+import java.util.logging.Logger;
+
+/**
+ * Keeps parsed themes so every theme file is only read once.
+ * The amount of cached vocabularies is bounded. If it is exceeded the least recently used themes are evicted.
+ */
+class ThemeRepository {
+    private static final Logger logger = Logger.getLogger("ThemeRepository");
+    private static final int MAX_VOCABULARIES = Integer.getInteger("vocabtrainer.themes.maxCached", 100_000);
+    // access ordered so that iteration starts with the least recently used theme
+    private static final LinkedHashMap<String, CompletableFuture<List<Vocabulary>>> themes
+            = new LinkedHashMap<>(32, 0.75f, true);
+    private static int cachedVocabularies = 0;
+
+    private ThemeRepository() {}
+
+    /**
+     * Gets a theme from the cache. If it is not cached yet the loader is run exactly once,
+     * concurrent callers of the same key wait for that result.
+     * @param key unique name of the theme, usually the path of its file
+     * @param loader parses the theme
+     * @return immutable List of vocabularies
+     */
+    static List<Vocabulary> get(String key, Supplier<List<Vocabulary>> loader) {
+        CompletableFuture<List<Vocabulary>> theme;
+        boolean owner = false;
+        synchronized (themes) {
+            theme = themes.get(key);
+            if (theme == null) {
+                theme = new CompletableFuture<>();
+                themes.put(key, theme);
+                owner = true;
+            }
+        }
+        if (owner) {
+            try {
+                List<Vocabulary> vocabularies = loader.get().stream().filter(Objects::nonNull).toList();
+                complete(key, theme, vocabularies);
+            } catch (RuntimeException e) {
+                synchronized (themes) {
+                    themes.remove(key, theme);
+                }
+                theme.completeExceptionally(e);
+            }
+        }
+        return theme.join();
+    }
+
+    /**
+     * Removes a theme so the next access parses it again
+     * @param key name of the theme
+     */
+    static void invalidate(String key) {
+        synchronized (themes) {
+            CompletableFuture<List<Vocabulary>> theme = themes.remove(key);
+            if (theme != null && theme.isDone() && !theme.isCompletedExceptionally()) {
+                cachedVocabularies -= weight(theme.join());
+            }
+        }
+        QuestionnaireLoader.clearSnapshots();
+        SearchIndex.invalidate();
+    }
+
+    /**
+     * Completes a freshly loaded theme, adds its weight and evicts old themes until the bound holds again.
+     * The theme that was just loaded is never evicted.
+     */
+    private static void complete(String loadedKey, CompletableFuture<List<Vocabulary>> loaded, List<Vocabulary> vocabularies) {
+        synchronized (themes) {
+            loaded.complete(vocabularies);
+            if (themes.get(loadedKey) != loaded) { // invalidated while loading
+                return;
+            }
+            cachedVocabularies += weight(vocabularies);
+            Iterator<Map.Entry<String, CompletableFuture<List<Vocabulary>>>> it = themes.entrySet().iterator();
+            while (cachedVocabularies > MAX_VOCABULARIES && it.hasNext()) {
+                Map.Entry<String, CompletableFuture<List<Vocabulary>>> eldest = it.next();
+                if (!eldest.getKey().equals(loadedKey) && eldest.getValue().isDone()) {
+                    cachedVocabularies -= weight(eldest.getValue().join());
+                    it.remove();
+                    logger.fine("Evicted theme '%s'".formatted(eldest.getKey()));
+                }
+            }
+        }
+    }
+
+    private static int weight(List<Vocabulary> vocabularies) {
+        return Math.max(vocabularies.size(), 1);
+    }
+}
@@ -0,0 +1,174 @@
+package core.loading;
+
+import java.io.IOException;
+import java.nio.file.*;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Optional directory outside the jar that overrides the bundled vocabularies. It has the same layout as
+ * the 'vocabularies' resource folder, e.g. 'lessons/l6.csv' or 'themes/counter/book.csv'. A file found there is used
+ * instead of the bundled file and the pack.
+ * The directory is set with the system property 'vocabtrainer.vocabularies.dir' and watched for changes.
+ * Only changed files are parsed again, new files are added to the {@link VocabularyIndex}. Running questionnaires keep their snapshot, new selections see the change.
+ */
+public class VocabularyDirectory {
+    public static final String DIRECTORY_PROPERTY = "vocabtrainer.vocabularies.dir";
+    private static final String RESOURCE_FOLDER = "vocabularies/";
+    // editors often write a file in several steps, changes are collected until it is quiet for this long
+    private static final long QUIET_MILLIS = 200;
+    private static final Logger logger = Logger.getLogger("VocabularyDirectory");
+    private static final Path ROOT = configuredRoot();
+
+    private VocabularyDirectory() {}
+
+    /**
+     * @param path resource path of a vocabulary file, e.g. 'vocabularies/lessons/l6.csv'
+     * @return the file that overrides the resource or null if there is none
+     */
+    public static Path resolve(String path) {
+        if (ROOT == null || !path.startsWith(RESOURCE_FOLDER)) {
+            return null;
+        }
+        Path file = ROOT.resolve(path.substring(RESOURCE_FOLDER.length()));
+        return Files.isRegularFile(file) ? file : null;
+    }
+
+    /**
+     * @return resource paths of all files in the directory, empty if none is configured
+     */
+    static List<String> overrides() {
+        if (ROOT == null) {
+            return List.of();
+        }
+        try {
+            return files(ROOT);
+        } catch (IOException e) {
+            logger.warning("%s couldn't be listed: %s".formatted(ROOT, e.getMessage()));
+            return List.of();
+        }
+    }
+
+    /**
+     * Starts watching the directory in the background if one is configured
+     */
+    static void watch() {
+        if (ROOT == null) {
+            return;
+        }
+        try {
+            WatchService watchService = ROOT.getFileSystem().newWatchService();
+            Map<WatchKey, Path> directories = new HashMap<>();
+            register(watchService, directories, ROOT);
+            Thread.ofVirtual().name("vocabulary-watcher").start(() -> watch(watchService, directories));
+            logger.info("Watching %s for vocabulary changes".formatted(ROOT));
+        } catch (IOException e) {
+            logger.warning("%s can't be watched, changes need a restart: %s".formatted(ROOT, e.getMessage()));
+        }
+    }
+
+    /**
+     * Parses the file of the resource path again and replaces the lesson or theme it belongs to
+     * @param path resource path of the changed file
+     */
+    static void reload(String path) {
+        VocabularyIndex.Entry previous = VocabularyIndex.byPath(path);
+        VocabularyIndex.Entry entry = VocabularyIndex.refresh(path);
+        VocabularyIndex.Entry changed = entry != null ? entry : previous;
+        if (changed == null) {
+            return;
+        } else if (changed.lesson() >= 0) {
+            LessonLoader.reload(changed.lesson());
+        } else if (changed.kind().equals(VocabularyIndex.THEME)) {
+            ThemeLoader.reload(path);
+        } else {
+            return;
+        }
+        logger.info("Reloaded %s".formatted(path));
+    }
+
+    private static void watch(WatchService watchService, Map<WatchKey, Path> directories) {
+        try (watchService) {
+            while (true) {
+                Set<String> changed = new TreeSet<>();
+                WatchKey key = watchService.take();
+                while (key != null) {
+                    collect(watchService, directories, key, changed);
+                    key = watchService.poll(QUIET_MILLIS, TimeUnit.MILLISECONDS);
+                }
+                for (String path : changed) {
+                    try {
+                        reload(path);
+                    } catch (RuntimeException e) { // one broken file must not stop watching the others
+                        logger.warning("%s couldn't be reloaded: %s".formatted(path, e));
+                    }
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (IOException | ClosedWatchServiceException e) {
+            logger.warning("Stopped watching %s: %s".formatted(ROOT, e.getMessage()));
+        }
+    }
+
+    private static void collect(WatchService watchService, Map<WatchKey, Path> directories, WatchKey key, Set<String> changed) throws IOException {
+        Path directory = directories.get(key);
+        for (WatchEvent<?> event : key.pollEvents()) {
+            if (event.kind() == StandardWatchEventKinds.OVERFLOW) { // events were lost, check everything
+                changed.addAll(files(ROOT));
+                continue;
+            }
+            Path file = directory.resolve((Path) event.context());
+            if (event.kind() == StandardWatchEventKinds.ENTRY_CREATE && Files.isDirectory(file)) {
+                register(watchService, directories, file);
+                changed.addAll(files(file));
+            } else if (file.getFileName().toString().endsWith(".csv")) {
+                changed.add(resourcePath(file));
+            }
+        }
+        if (!key.reset()) {
+            directories.remove(key);
+        }
+    }
+
+    private static void register(WatchService watchService, Map<WatchKey, Path> directories, Path root) throws IOException {
+        try (Stream<Path> tree = Files.walk(root)) {
+            for (Path directory : tree.filter(Files::isDirectory).toList()) {
+                directories.put(directory.register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                        StandardWatchEventKinds.ENTRY_MODIFY, StandardWatchEventKinds.ENTRY_DELETE), directory);
+            }
+        }
+    }
+
+    /**
+     * @return resource paths of all csv files below the directory
+     */
+    private static List<String> files(Path directory) throws IOException {
+        try (Stream<Path> tree = Files.walk(directory)) {
+            return tree.filter(file -> file.getFileName().toString().endsWith(".csv"))
+                    .map(VocabularyDirectory::resourcePath)
+                    .toList();
+        }
+    }
+
+    private static String resourcePath(Path file) {
+        StringJoiner path = new StringJoiner("/", RESOURCE_FOLDER, "");
+        ROOT.relativize(file).forEach(part -> path.add(part.toString()));
+        return path.toString();
+    }
+
+    private static Path configuredRoot() {
+        String directory = System.getProperty(DIRECTORY_PROPERTY);
+        if (directory == null) {
+            return null;
+        }
+        Path root = Path.of(directory).toAbsolutePath().normalize();
+        if (!Files.isDirectory(root)) {
+            logger.warning("Vocabulary directory %s doesn't exist, the bundled vocabularies are used".formatted(root));
+            return null;
+        }
+        return root;
+    }
+}
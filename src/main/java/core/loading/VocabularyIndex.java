@@ -0,0 +1,303 @@
+package core.loading;
+
+import core.util.ReaderWriterUtility;
+import model.Vocabulary;
+
+import java.io.*;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+/**
+ * Directory of all decks, read from the manifest 'vocabularies/index.tsv' that {@link VocabularyPackCompiler} generates.
+ * Every deck is found by its id in O(1), so loaders neither hard-code file names nor probe resources.
+ * The counters and the days of the month are counter decks, every other deck has the standard format.
+ * The number of vocabularies and the checksum of every deck are verified when it is loaded,
+ * a deck that doesn't match its entry is indexed again.
+ */
+public class VocabularyIndex {
+    public static final String LESSON = "lesson";
+    public static final String THEME = "theme";
+    static final String RESOURCE = "vocabularies/index.tsv";
+    static final String HEADER = "id\tkind\tgroup\tpath\tformat\trange\tsuffix\tentries\tcrc32";
+    private static final String ROOT = "vocabularies/";
+    private static final String STANDARD = "standard";
+    private static final String COUNTER = "counter";
+    // ids of the decks with the counter format, a trailing '/' stands for a whole folder
+    private static final List<String> COUNTER_DECKS = List.of("themes/counter/", "themes/days/month");
+    private static final Logger logger = Logger.getLogger("VocabularyIndex");
+    // id -> deck. Only changes when a file of the external vocabulary directory appears or disappears
+    private static final Map<String, Entry> entries = new ConcurrentHashMap<>(read());
+
+    static {
+        // the manifest describes the bundled files, overridden ones may have another format
+        VocabularyDirectory.overrides().forEach(VocabularyIndex::refresh);
+    }
+
+    /**
+     * One deck of the manifest
+     * @param id path below 'vocabularies/' without '.csv', e.g. 'lessons/l6' or 'themes/counter/book'
+     * @param kind {@link #LESSON} or {@link #THEME}
+     * @param group folder of the deck, e.g. 'lessons' or 'counter'
+     * @param path resource path of the csv
+     * @param format 'standard' or 'counter'
+     * @param range counter decks hold the numbers 1 to range - 1
+     * @param suffix text appended to the numbers of a counter deck
+     * @param entries number of vocabularies
+     * @param crc32 checksum of the csv
+     */
+    public record Entry(String id, String kind, String group, String path, String format,
+                        int range, String suffix, int entries, long crc32) {
+        /**
+         * @return name of the file without '.csv', e.g. 'l6' or 'book'
+         */
+        public String name() {
+            return id.substring(id.lastIndexOf('/') + 1);
+        }
+
+        public boolean isCounter() {
+            return format.equals(COUNTER);
+        }
+
+        /**
+         * @return number of the lesson or -1 if the deck is no numbered lesson
+         */
+        public int lesson() {
+            String name = name();
+            if (!kind.equals(LESSON) || name.length() < 2 || name.charAt(0) != 'l') {
+                return -1;
+            }
+            try {
+                return Integer.parseInt(name.substring(1));
+            } catch (NumberFormatException e) {
+                return -1;
+            }
+        }
+
+        String toLine() {
+            return String.join("\t", id, kind, group, path, format, Integer.toString(range), suffix,
+                    Integer.toString(entries), Long.toHexString(crc32));
+        }
+
+        static Entry parse(String line) {
+            String[] columns = line.split("\t", -1);
+            return new Entry(columns[0], columns[1], columns[2], columns[3], columns[4], Integer.parseInt(columns[5]),
+                    columns[6], Integer.parseInt(columns[7]), Long.parseLong(columns[8], 16));
+        }
+    }
+
+    private VocabularyIndex() {}
+
+    /**
+     * @param id e.g. 'themes/counter/book'
+     * @return the deck or null if there is no such deck
+     */
+    public static Entry get(String id) {
+        return entries.get(id);
+    }
+
+    /**
+     * @return the deck with the resource path or null if there is no such deck
+     */
+    public static Entry byPath(String path) {
+        return path.startsWith(ROOT) && path.endsWith(".csv")
+                ? entries.get(path.substring(ROOT.length(), path.length() - ".csv".length()))
+                : null;
+    }
+
+    public static Entry lesson(int lesson) {
+        return entries.get("lessons/l" + lesson);
+    }
+
+    public static Entry theme(String group, String name) {
+        return entries.get("themes/%s/%s".formatted(group, name));
+    }
+
+    /**
+     * @return all decks of the kind sorted by id
+     */
+    public static List<Entry> all(String kind) {
+        return entries.values().stream().filter(e -> e.kind().equals(kind)).sorted(Comparator.comparing(Entry::id)).toList();
+    }
+
+    /**
+     * @return names of the themes in the group, sorted
+     */
+    public static List<String> names(String group) {
+        return entries.values().stream().filter(e -> e.kind().equals(THEME) && e.group().equals(group))
+                .map(Entry::name).sorted().toList();
+    }
+
+    /**
+     * Parses a deck with the format of its entry. The pack is used if it holds the deck.
+     * If the csv doesn't have the checksum of the entry or the deck not its number of vocabularies,
+     * the entry is stale: the csv is parsed and indexed again.
+     * @return vocabularies of the deck
+     */
+    static List<Vocabulary> load(Entry entry) throws IOException {
+        List<String> lines = readLines(entry.path());
+        List<Vocabulary> packed = VocabularyPack.lookup(entry.path());
+        if (lines == null) { // only packed
+            if (packed == null) {
+                throw new FileNotFoundException(entry.path());
+            }
+            return packed;
+        } else if (packed != null && packed.size() == entry.entries() && crc32(lines) == entry.crc32()) {
+            return packed;
+        }
+        List<Vocabulary> parsed = new ArrayList<>();
+        Entry described = describe(entry.path(), lines, parsed);
+        if (!described.equals(entry)) {
+            logger.warning("%s doesn't match the manifest, it was indexed again".formatted(entry.path()));
+            entries.put(described.id(), described);
+        }
+        return parsed;
+    }
+
+    /**
+     * Describes the csv again after it changed, e.g. in the external vocabulary directory
+     * @param path resource path of the csv
+     * @return the new entry or null if the file is gone
+     */
+    static Entry refresh(String path) {
+        Entry entry;
+        try {
+            List<String> lines = readLines(path);
+            entry = lines == null ? null : describe(path, lines, new ArrayList<>());
+        } catch (IOException | UncheckedIOException e) {
+            logger.warning("%s couldn't be indexed: %s".formatted(path, e.getMessage()));
+            return byPath(path);
+        }
+        String id = path.substring(ROOT.length(), path.length() - ".csv".length());
+        if (entry == null) {
+            entries.remove(id);
+        } else {
+            entries.put(id, entry);
+        }
+        return entry;
+    }
+
+    /**
+     * Parses a deck with the format of its id. Counter decks start with lines that only hold japanese meanings,
+     * optionally followed by one question in the standard format. Counters of the 'counter' group get their name as suffix.
+     * @param path resource path of the csv
+     * @param lines content of the csv
+     * @param vocabularies the parsed vocabularies are added here
+     */
+    static Entry describe(String path, List<String> lines, List<Vocabulary> vocabularies) throws IOException {
+        String id = path.substring(ROOT.length(), path.length() - ".csv".length());
+        String[] folders = id.split("/");
+        String kind = folders[0].equals("lessons") ? LESSON : THEME;
+        String group = folders.length > 2 ? folders[folders.length - 2] : folders[0];
+        String name = folders[folders.length - 1];
+        boolean counter = COUNTER_DECKS.stream().anyMatch(deck -> deck.endsWith("/") ? id.startsWith(deck) : id.equals(deck));
+        String format = counter ? COUNTER : STANDARD;
+        int range = 0;
+        if (counter) {
+            List<String> content = lines.stream().filter(line -> !line.isBlank()).toList();
+            while (range < content.size() && !hasLanguageSeparator(content.get(range))) {
+                range++;
+            }
+            range++;
+        }
+        String suffix = counter && group.equals("counter") ? name : "";
+        VocabularyLoader loader = new VocabularyLoader(new BufferedReader(new StringReader(String.join("\n", lines))), path);
+        List<Vocabulary> parsed = counter ? loader.loadCounterFormat(range, true, suffix) : loader.loadStandardFormat();
+        vocabularies.addAll(parsed);
+        return new Entry(id, kind, group, path, format, range, suffix, parsed.size(), crc32(lines));
+    }
+
+    /**
+     * @return checksum over the UTF-8 bytes of the lines, each ended by '\n'
+     */
+    static long crc32(List<String> lines) {
+        CRC32 crc = new CRC32();
+        for (String line : lines) {
+            crc.update((line + "\n").getBytes(StandardCharsets.UTF_8));
+        }
+        return crc.getValue();
+    }
+
+    /**
+     * @return lines of the csv in the external directory or on the class path, null if there is none
+     */
+    private static List<String> readLines(String path) throws IOException {
+        try (BufferedReader br = ReaderWriterUtility.getReader(path)) {
+            return br.lines().toList();
+        } catch (FileNotFoundException e) {
+            return null;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Writes the manifest
+     * @param manifest target file
+     * @param decks entries in the order they are written
+     */
+    static void write(Path manifest, Collection<Entry> decks) throws IOException {
+        List<String> lines = new ArrayList<>();
+        lines.add(HEADER);
+        decks.forEach(entry -> lines.add(entry.toLine()));
+        Files.write(manifest, lines, StandardCharsets.UTF_8);
+    }
+
+    private static boolean hasLanguageSeparator(String line) {
+        return line.indexOf(':') >= 0 || line.indexOf(';') >= 0 || line.indexOf('\t') >= 0;
+    }
+
+    private static Map<String, Entry> read() {
+        Map<String, Entry> index = new HashMap<>();
+        try (InputStream is = VocabularyIndex.class.getClassLoader().getResourceAsStream(RESOURCE)) {
+            if (is != null) {
+                BufferedReader br = new BufferedReader(new InputStreamReader(is, StandardCharsets.UTF_8));
+                br.lines().skip(1).map(Entry::parse).forEach(entry -> index.put(entry.id(), entry));
+                return index;
+            }
+            logger.info("No vocabulary manifest found. Indexing the vocabulary folder.");
+            for (Entry entry : scan()) {
+                index.put(entry.id(), entry);
+            }
+        } catch (IOException | URISyntaxException e) {
+            logger.warning("Vocabularies couldn't be indexed: %s".formatted(e.getMessage()));
+        }
+        return index;
+    }
+
+    /**
+     * Indexes the vocabulary folder on the class path, e.g. when the build didn't generate a manifest
+     */
+    private static List<Entry> scan() throws IOException, URISyntaxException {
+        URL url = VocabularyIndex.class.getClassLoader().getResource(ROOT);
+        if (url == null || !"file".equals(url.getProtocol())) {
+            return List.of();
+        }
+        Path root = Path.of(url.toURI());
+        return scan(root.getParent());
+    }
+
+    /**
+     * @param classesDirectory directory that contains the 'vocabularies' folder
+     * @return entries of every csv below it, sorted by path
+     */
+    static List<Entry> scan(Path classesDirectory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(classesDirectory.resolve(ROOT))) {
+            files = walk.filter(p -> p.toString().endsWith(".csv")).sorted().toList();
+        }
+        List<Entry> scanned = new ArrayList<>();
+        for (Path file : files) {
+            String path = classesDirectory.relativize(file).toString().replace(File.separatorChar, '/');
+            scanned.add(describe(path, Files.readAllLines(file, StandardCharsets.UTF_8), new ArrayList<>()));
+        }
+        return scanned;
+    }
+}
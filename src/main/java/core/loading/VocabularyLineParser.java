@@ -0,0 +1,198 @@
+package core.loading;
+
+import model.Vocabulary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.logging.Logger;
+
+/**
+ * Single pass tokenizer for the lines of a vocabulary file. It works without regular expressions.
+ * The format is 'japanese1,japanese2:meaning1,meaning2'. Any letters are allowed, so kana and kanji can be stored.
+ * Besides that it tolerates the cursed csv structure spreadsheet exports produce:
+ * a byte order mark, ';' or a tab instead of ':', ';' between meanings, quoted meanings that contain commas,
+ * blank lines, '#' comment lines and whitespace around separators.
+ * Rejected lines are collected with their line number.
+ */
+public class VocabularyLineParser {
+    private static final Logger logger = Logger.getLogger("VocabularyLineParser");
+    private static final char LANGUAGE_SPLIT = ':';
+    private static final char MEANINGS_SPLIT = ',';
+    private static final char ALTERNATIVE_SPLIT = ';';
+    private static final char TAB = '\t';
+    private static final char QUOTE = '"';
+    private static final char COMMENT = '#';
+    private static final char BYTE_ORDER_MARK = 0xFEFF;
+    private static final int FAILED = -1;
+
+    public record ParseError(String source, int lineNumber, String line, String reason) {
+        @Override
+        public String toString() {
+            return "%s:%s: %s ('%s')".formatted(source, lineNumber, reason, line);
+        }
+    }
+
+    private final String source;
+    private final List<ParseError> errors = new ArrayList<>();
+    private final StringBuilder token = new StringBuilder();
+    private int lineNumber = 0;
+    private String reason;
+
+    /**
+     * @param source name of the parsed file, used for error messages
+     */
+    public VocabularyLineParser(String source) {
+        this.source = source;
+    }
+
+    /**
+     * Parses the next line of a file with the standard format
+     * @param line next line of the file
+     * @return Vocabulary or null if the line carries no vocabulary or was rejected
+     */
+    public Vocabulary parseStandard(String line) {
+        lineNumber++;
+        int from = start(line);
+        if (from == line.length() || line.charAt(from) == COMMENT) {
+            return null;
+        }
+        List<String> japanese = new ArrayList<>(2);
+        int at = split(line, from, true, japanese);
+        if (at == FAILED) {
+            return reject(line, reason);
+        } else if (at == line.length()) {
+            return reject(line, "missing ':' between japanese and translated meanings");
+        }
+        List<String> englishGerman = new ArrayList<>(4);
+        if (split(line, at + 1, false, englishGerman) == FAILED) {
+            return reject(line, reason);
+        }
+        if (japanese.isEmpty()) {
+            return reject(line, "no japanese meaning");
+        } else if (englishGerman.isEmpty()) {
+            return reject(line, "no translated meaning");
+        }
+        return VocabularyPool.vocabulary(japanese, englishGerman);
+    }
+
+    /**
+     * Parses the next line of a file with the counter format. These lines only consist of japanese meanings.
+     * @param line next line of the file
+     * @return List of japanese meanings or null if the line was rejected
+     */
+    public List<String> parseJapanese(String line) {
+        lineNumber++;
+        List<String> japanese = new ArrayList<>(2);
+        int at = split(line, start(line), true, japanese);
+        if (at == FAILED) {
+            return reject(line, reason);
+        } else if (at != line.length()) {
+            return reject(line, "unexpected '%s' in counter line".formatted(line.charAt(at)));
+        } else if (japanese.isEmpty()) {
+            return reject(line, "no japanese meaning");
+        }
+        return japanese;
+    }
+
+    /**
+     * Counts a line that is missing although the format expects it
+     */
+    public void missingLine() {
+        lineNumber++;
+        reject("", "unexpected end of file");
+    }
+
+    public List<ParseError> getErrors() {
+        return List.copyOf(errors);
+    }
+
+    public int getErrorCount() {
+        return errors.size();
+    }
+
+    public int getLineCount() {
+        return lineNumber;
+    }
+
+    /**
+     * @return index of the first character after a byte order mark and leading whitespace
+     */
+    private int start(String line) {
+        int i = 0;
+        if (lineNumber == 1 && !line.isEmpty() && line.charAt(0) == BYTE_ORDER_MARK) {
+            i++;
+        }
+        while (i < line.length() && Character.isWhitespace(line.charAt(i))) {
+            i++;
+        }
+        return i;
+    }
+
+    /**
+     * Splits meanings starting at from and adds them trimmed to out. Empty meanings are dropped.
+     * @param japanesePart if true the first language separator ends the part
+     * @return index of the language separator, the length of the line if the end was reached or FAILED
+     */
+    private int split(String line, int from, boolean japanesePart, List<String> out) {
+        token.setLength(0);
+        boolean quoted = false;
+        int significant = 0; // length of the token without trailing whitespace
+        for (int i = from; i < line.length(); i++) {
+            char c = line.charAt(i);
+            if (quoted) {
+                if (c == QUOTE && i + 1 < line.length() && line.charAt(i + 1) == QUOTE) {
+                    token.append(QUOTE);
+                    i++;
+                } else if (c == QUOTE) {
+                    quoted = false;
+                } else {
+                    token.append(c);
+                }
+                significant = token.length();
+            } else if (c == QUOTE) {
+                quoted = true;
+            } else if (c == MEANINGS_SPLIT || (c == ALTERNATIVE_SPLIT && !japanesePart)) {
+                addToken(out, significant);
+                significant = 0;
+            } else if (c == LANGUAGE_SPLIT || (japanesePart && (c == TAB || c == ALTERNATIVE_SPLIT))) {
+                if (!japanesePart) {
+                    reason = "more than one separator between languages";
+                    return FAILED;
+                }
+                addToken(out, significant);
+                return i;
+            } else if (Character.isWhitespace(c)) {
+                if (!token.isEmpty()) {
+                    token.append(c);
+                }
+            } else if (Character.isISOControl(c)) {
+                reason = "control character at column %s".formatted(i + 1);
+                return FAILED;
+            } else {
+                token.append(c);
+                significant = token.length();
+            }
+        }
+        if (quoted) {
+            reason = "unterminated quote";
+            return FAILED;
+        }
+        addToken(out, significant);
+        return line.length();
+    }
+
+    private void addToken(List<String> out, int significant) {
+        if (significant > 0) {
+            token.setLength(significant);
+            out.add(token.toString());
+        }
+        token.setLength(0);
+    }
+
+    private <T> T reject(String line, String reason) {
+        ParseError error = new ParseError(source, lineNumber, line, reason);
+        errors.add(error);
+        logger.warning("Line was ignored: %s".formatted(error));
+        return null;
+    }
+}
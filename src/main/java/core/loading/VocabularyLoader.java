@@ -1,5 +1,7 @@
 package core.loading;
 
+import core.monitoring.Metrics;
+import core.monitoring.VocabularyParseEvent;
 import core.util.ReaderWriterUtility;
 import model.Vocabulary;
 
@@ -7,20 +9,28 @@ import java.io.BufferedReader;
 import java.io.IOException;
 import java.util.ArrayList;
 import java.util.List;
-import java.util.logging.Logger;
-import java.util.regex.Pattern;
 
 public class VocabularyLoader {
-    private static final String LANGUAGE_SPLIT = ":";
-    private static final String MEANINGS_SPLIT = ",";
-    private static final Pattern STANDARD_FORMAT
-            = Pattern.compile("([a-zA-Z](-[a-zA-Z])*,)*[a-zA-Z](-[a-zA-Z])*:([a-zäöüßA-ZÖÄÜ],)*[a-zäöüßA-ZÖÄÜ]");
-    private static final Pattern COUNTER_FORMAT
-            = Pattern.compile("(([a-zA-Z](-[a-zA-Z])*,)*[a-zA-Z](-[a-zA-Z])*)");
     private final BufferedReader br;
+    private final String source;
+    private final VocabularyLineParser parser;
 
     public VocabularyLoader(String path) throws IOException {
-        br = ReaderWriterUtility.getReader(path);
+        this(ReaderWriterUtility.getReader(path), path);
+    }
+
+    public VocabularyLoader(BufferedReader br) {
+        this(br, "<reader>");
+    }
+
+    /**
+     * @param br UTF-8 decoding reader of the vocabulary file
+     * @param source name of the file used in error messages
+     */
+    public VocabularyLoader(BufferedReader br, String source) {
+        this.br = br;
+        this.source = source;
+        this.parser = new VocabularyLineParser(source);
     }
 
     /**
@@ -28,14 +38,18 @@ public class VocabularyLoader {
      * @return List of vocabularies that have the format 'List of japanese meanings', 'List of translated meanings'
      */
     public List<Vocabulary> loadStandardFormat() throws IOException {
+        VocabularyParseEvent event = new VocabularyParseEvent();
+        event.begin();
         List<Vocabulary> vocabularies =  new ArrayList<>();
         String line;
         while((line = br.readLine())!= null){
-            Vocabulary vocabulary = getNext(line);
+            Vocabulary vocabulary = parser.parseStandard(line);
             if (vocabulary != null){
                 vocabularies.add(vocabulary);
             }
         }
+        Metrics.get().parseFailures(source, parser.getErrorCount());
+        event.commit(source, "standard", parser.getLineCount(), parser.getErrorCount(), vocabularies.size());
         return vocabularies;
     }
 
@@ -50,45 +64,24 @@ public class VocabularyLoader {
 
     /**
      *
-     * @param line String that has the COUNTER_FORMAT
+     * @param line String that has the counter format, a list of japanese meanings
      * @param i string/number the word will be associated with. eg. kokonotsu and "9"
-     * @return Vocabulary
+     * @return Vocabulary or null if the line was rejected
      */
     public Vocabulary getNextNumber(String line, String i) {
-        if (COUNTER_FORMAT.matcher(line).find()){
-            return new Vocabulary(
-                    getMeanings(line),
-                    new ArrayList<>(List.of(String.valueOf(i)))
-            );
-        }else {
-            Logger.getLogger("VocabularyLoader").warning("String '%s' didn't match pattern '%s' so it was ignored".formatted(line, COUNTER_FORMAT.pattern()));
+        List<String> japanese = parser.parseJapanese(line);
+        if (japanese == null){
             return null;
         }
+        return VocabularyPool.vocabulary(japanese, List.of(i));
     }
 
     /**
-     * @param s String of format s1,s2,s3,...
-     * @return a List of these string split by MEANING_SPLIT
-     */
-    private static List<String> getMeanings(String s){
-        return new ArrayList<>(List.of(s.split(MEANINGS_SPLIT)));
-    }
-
-    /**
-     * @param line String of STANDARD_FORMAT
-     * @return Vocabulary split according to the format
+     * @param line String of the standard format
+     * @return Vocabulary split according to the format or null if the line was rejected
      */
     public static Vocabulary getNext(String line) {
-        if(STANDARD_FORMAT.matcher(line).find()){
-            String[] languageSplit = line.split(LANGUAGE_SPLIT);
-            return new Vocabulary(
-                    getMeanings(languageSplit[0]),
-                    getMeanings(languageSplit[1])
-            );
-        }else {
-            Logger.getLogger("VocabularyLoader").warning("String '%s' didn't match pattern '%s' so it was ignored".formatted(line, STANDARD_FORMAT.pattern()));
-            return null;
-        }
+        return new VocabularyLineParser("<line>").parseStandard(line);
     }
 
     /**
@@ -99,19 +92,37 @@ public class VocabularyLoader {
      * @return List of vocabularies with the format List of japanese meanings, number + suffix and at last a question
      */
     public List<Vocabulary> loadCounterFormat(int maxIterExclusive, boolean includeEndQuestion, String numberSuffix) throws IOException {
+        VocabularyParseEvent event = new VocabularyParseEvent();
+        event.begin();
         List<Vocabulary> vocabularies =  new ArrayList<>();
         String line;
         for (int i = 1; i < maxIterExclusive; i++) {
-            line = ReaderWriterUtility.readLine(br);
+            line = br.readLine();
+            if (line == null){
+                parser.missingLine();
+                break;
+            }
             Vocabulary vocabulary = getNextNumber(line, i + " " + numberSuffix);
             if (vocabulary != null){
                 vocabularies.add(vocabulary);
             }
         }
-        line = ReaderWriterUtility.readLine(br);
-        if (includeEndQuestion && !line.isEmpty()){
-            vocabularies.add(getNext(line));
+        line = br.readLine();
+        if (includeEndQuestion && line != null && !line.isEmpty()){
+            Vocabulary question = parser.parseStandard(line);
+            if (question != null){
+                vocabularies.add(question);
+            }
         }
+        Metrics.get().parseFailures(source, parser.getErrorCount());
+        event.commit(source, "counter", parser.getLineCount(), parser.getErrorCount(), vocabularies.size());
         return vocabularies;
     }
+
+    /**
+     * @return the lines that were rejected so far, with their line numbers
+     */
+    public List<VocabularyLineParser.ParseError> getErrors() {
+        return parser.getErrors();
+    }
 }
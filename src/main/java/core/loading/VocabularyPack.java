@@ -0,0 +1,198 @@
+package core.loading;
+
+import model.Vocabulary;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.logging.Logger;
+
+/**
+ * Read only view on the binary pack written by {@link VocabularyPackCompiler}.
+ * The file is memory mapped and vocabularies are only decoded when they are accessed.
+ */
+public class VocabularyPack {
+    static final String RESOURCE = "vocabularies.pack";
+    static final int MAGIC = 0x56504B31; // "VPK1"
+    static final int VERSION = 1;
+    static final int HEADER_SIZE = 4 * Integer.BYTES;
+    static final int DIRECTORY_ENTRY_SIZE = 3 * Integer.BYTES;
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final Logger logger = Logger.getLogger("VocabularyPack");
+
+    private final MemorySegment segment;
+    private final int stringCount;
+    private final long stringDataPosition;
+    private final long directoryPosition;
+    private final AtomicReferenceArray<String> strings;
+    private final Map<String, Integer> deckIndex = new HashMap<>();
+    private final AtomicReferenceArray<Deck> decks;
+
+    private VocabularyPack(MemorySegment segment) throws IOException {
+        this.segment = segment;
+        if (segment.byteSize() < HEADER_SIZE || segment.get(INT, 0) != MAGIC || segment.get(INT, 4) != VERSION) {
+            throw new IOException("Not a vocabulary pack of version %s".formatted(VERSION));
+        }
+        stringCount = segment.get(INT, 8);
+        int deckCount = segment.get(INT, 12);
+        stringDataPosition = HEADER_SIZE + (long) Integer.BYTES * (stringCount + 1);
+        strings = new AtomicReferenceArray<>(stringCount);
+        decks = new AtomicReferenceArray<>(deckCount);
+        directoryPosition = align(stringDataPosition + segment.get(INT, HEADER_SIZE + (long) Integer.BYTES * stringCount));
+        for (int i = 0; i < deckCount; i++) {
+            deckIndex.put(string(segment.get(INT, directoryPosition + (long) i * DIRECTORY_ENTRY_SIZE)), i);
+        }
+    }
+
+    /**
+     * Maps the pack file into memory. The mapping lives as long as the returned pack is reachable.
+     * @param file path of the pack
+     * @return opened pack
+     */
+    public static VocabularyPack open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file)) {
+            return new VocabularyPack(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), Arena.ofAuto()));
+        }
+    }
+
+    /**
+     * Looks up a deck in the pack that was bundled with the application.
+     * @param path classpath path of the csv the deck was compiled from
+     * @return the decoded deck or null if there is no pack, it does not contain the path
+     * or the file is overridden by the external vocabulary directory
+     */
+    public static List<Vocabulary> lookup(String path) {
+        if (VocabularyDirectory.resolve(path) != null) {
+            return null;
+        }
+        VocabularyPack pack = Bundled.PACK;
+        return pack == null ? null : pack.deck(path);
+    }
+
+    /**
+     * @param path classpath path of the csv the deck was compiled from
+     * @return lazily decoded, unmodifiable deck or null if the path is unknown
+     */
+    public List<Vocabulary> deck(String path) {
+        Integer index = deckIndex.get(path);
+        if (index == null) {
+            return null;
+        }
+        Deck deck = decks.get(index);
+        if (deck == null) {
+            long directoryEntry = directoryPosition + (long) index * DIRECTORY_ENTRY_SIZE;
+            deck = new Deck(segment.get(INT, directoryEntry + 4), segment.get(INT, directoryEntry + 8));
+            Deck witness = decks.compareAndExchange(index, null, deck);
+            deck = witness == null ? deck : witness;
+        }
+        return deck;
+    }
+
+    public Set<String> paths() {
+        return Collections.unmodifiableSet(deckIndex.keySet());
+    }
+
+    private String string(int id) {
+        String s = strings.get(id);
+        if (s == null) {
+            long offsets = HEADER_SIZE + (long) Integer.BYTES * id;
+            int from = segment.get(INT, offsets);
+            int to = segment.get(INT, offsets + Integer.BYTES);
+            byte[] bytes = segment.asSlice(stringDataPosition + from, to - from).toArray(ValueLayout.JAVA_BYTE);
+            s = VocabularyPool.meaning(new String(bytes, StandardCharsets.UTF_8));
+            String witness = strings.compareAndExchange(id, null, s);
+            s = witness == null ? s : witness;
+        }
+        return s;
+    }
+
+    private List<String> meanings(long position) {
+        int count = segment.get(INT, position);
+        List<String> meanings = new ArrayList<>(count);
+        for (int i = 1; i <= count; i++) {
+            meanings.add(string(segment.get(INT, position + (long) Integer.BYTES * i)));
+        }
+        return meanings;
+    }
+
+    private static long align(long position) {
+        return (position + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+
+    /**
+     * Deck whose records are decoded on first access. Decoded entries are kept so repeated access yields the same instance.
+     */
+    private final class Deck extends AbstractList<Vocabulary> implements RandomAccess {
+        private final long offsetsPosition;
+        private final AtomicReferenceArray<Vocabulary> records;
+
+        private Deck(int size, int offsetsPosition) {
+            this.offsetsPosition = offsetsPosition;
+            this.records = new AtomicReferenceArray<>(size);
+        }
+
+        @Override
+        public Vocabulary get(int index) {
+            Objects.checkIndex(index, records.length());
+            Vocabulary vocabulary = records.get(index);
+            if (vocabulary == null) {
+                long position = segment.get(INT, offsetsPosition + (long) Integer.BYTES * index);
+                int japaneseCount = segment.get(INT, position);
+                vocabulary = VocabularyPool.vocabulary(
+                        meanings(position),
+                        meanings(position + (long) Integer.BYTES * (1 + japaneseCount))
+                );
+                Vocabulary witness = records.compareAndExchange(index, null, vocabulary);
+                vocabulary = witness == null ? vocabulary : witness;
+            }
+            return vocabulary;
+        }
+
+        @Override
+        public int size() {
+            return records.length();
+        }
+    }
+
+    /**
+     * Holder so the bundled pack is only mapped when a loader asks for it.
+     */
+    private static final class Bundled {
+        private static final VocabularyPack PACK = openBundled();
+
+        private static VocabularyPack openBundled() {
+            URL url = VocabularyPack.class.getClassLoader().getResource(RESOURCE);
+            if (url == null) {
+                logger.info("No vocabulary pack found. Falling back to csv files.");
+                return null;
+            }
+            try {
+                if ("file".equals(url.getProtocol())) {
+                    return open(Path.of(url.toURI()));
+                }
+                // packs inside a jar can't be mapped directly
+                Path tmp = Files.createTempFile("vocabularies", ".pack");
+                tmp.toFile().deleteOnExit();
+                try (InputStream is = url.openStream()) {
+                    Files.copy(is, tmp, StandardCopyOption.REPLACE_EXISTING);
+                }
+                return open(tmp);
+            } catch (IOException | URISyntaxException e) {
+                logger.warning("Vocabulary pack couldn't be opened. Falling back to csv files.");
+                return null;
+            }
+        }
+    }
+}
@@ -0,0 +1,143 @@
+package core.loading;
+
+import model.Vocabulary;
+
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * Build time tool that compiles every csv below 'vocabularies/' into one binary pack and the manifest of all decks.
+ * It runs in the process-classes phase and writes next to the copied resources.
+ */
+public class VocabularyPackCompiler {
+    private static final Logger logger = Logger.getLogger("VocabularyPackCompiler");
+    private static final String VOCABULARY_ROOT = "vocabularies";
+
+    private final Map<String, Integer> strings = new LinkedHashMap<>();
+    private final Map<String, List<Vocabulary>> decks = new LinkedHashMap<>();
+    private final List<VocabularyIndex.Entry> entries = new ArrayList<>();
+
+    /**
+     * @param args the class output directory (e.g. target/classes)
+     */
+    public static void main(String[] args) throws IOException {
+        Path outputDirectory = Path.of(args.length > 0 ? args[0] : "target/classes");
+        VocabularyPackCompiler compiler = new VocabularyPackCompiler();
+        compiler.addAll(outputDirectory);
+        Path pack = outputDirectory.resolve(VocabularyPack.RESOURCE);
+        compiler.write(pack);
+        VocabularyIndex.write(outputDirectory.resolve(VocabularyIndex.RESOURCE), compiler.entries);
+        logger.info("Compiled %s decks into '%s'".formatted(compiler.decks.size(), pack));
+    }
+
+    /**
+     * Adds every csv file found below the vocabulary root of the given directory.
+     * The format of every file follows from its path, see {@link VocabularyIndex#describe}.
+     * @param classesDirectory directory that contains the 'vocabularies' folder
+     */
+    public void addAll(Path classesDirectory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> walk = Files.walk(classesDirectory.resolve(VOCABULARY_ROOT))) {
+            files = walk.filter(p -> p.toString().endsWith(".csv")).sorted().toList();
+        }
+        for (Path file : files) {
+            String resourcePath = classesDirectory.relativize(file).toString().replace(File.separatorChar, '/');
+            List<Vocabulary> vocabularies = new ArrayList<>();
+            entries.add(VocabularyIndex.describe(resourcePath, Files.readAllLines(file, StandardCharsets.UTF_8), vocabularies));
+            addDeck(resourcePath, vocabularies);
+        }
+    }
+
+    public void addDeck(String path, List<Vocabulary> vocabularies) {
+        List<Vocabulary> deck = new ArrayList<>();
+        for (Vocabulary vocabulary : vocabularies) {
+            if (vocabulary != null) {
+                deck.add(vocabulary);
+                vocabulary.getJapanese().forEach(this::stringId);
+                vocabulary.getEnglishGerman().forEach(this::stringId);
+            }
+        }
+        stringId(path);
+        decks.put(path, deck);
+    }
+
+    private int stringId(String s) {
+        return strings.computeIfAbsent(s, k -> strings.size());
+    }
+
+    /**
+     * Writes the pack. All integers are big endian.
+     * Layout: header (magic, version, string count, deck count), string offsets, utf-8 string data,
+     * deck directory (path id, record count, position of the record offsets), record offsets and records.
+     * A record is the count of japanese meanings followed by their string ids and the same for english/german.
+     */
+    public void write(Path pack) throws IOException {
+        ByteArrayOutputStream stringData = new ByteArrayOutputStream();
+        int[] stringOffsets = new int[strings.size() + 1];
+        int i = 0;
+        for (String s : strings.keySet()) {
+            stringOffsets[i++] = stringData.size();
+            stringData.writeBytes(s.getBytes(StandardCharsets.UTF_8));
+        }
+        stringOffsets[i] = stringData.size();
+
+        int stringDataPosition = VocabularyPack.HEADER_SIZE + Integer.BYTES * stringOffsets.length;
+        int directoryPosition = align(stringDataPosition + stringData.size());
+        int position = directoryPosition + decks.size() * VocabularyPack.DIRECTORY_ENTRY_SIZE;
+
+        ByteArrayOutputStream body = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(body);
+        List<int[]> directoryEntries = new ArrayList<>();
+        for (Map.Entry<String, List<Vocabulary>> deck : decks.entrySet()) {
+            List<Vocabulary> records = deck.getValue();
+            int offsetsPosition = position + body.size();
+            directoryEntries.add(new int[]{strings.get(deck.getKey()), records.size(), offsetsPosition});
+            int recordPosition = offsetsPosition + Integer.BYTES * records.size();
+            for (Vocabulary vocabulary : records) {
+                out.writeInt(recordPosition);
+                recordPosition += Integer.BYTES * (2 + vocabulary.getJapanese().size() + vocabulary.getEnglishGerman().size());
+            }
+            for (Vocabulary vocabulary : records) {
+                writeIds(out, vocabulary.getJapanese());
+                writeIds(out, vocabulary.getEnglishGerman());
+            }
+        }
+
+        Path tmp = pack.resolveSibling(pack.getFileName() + ".tmp");
+        try (DataOutputStream file = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(tmp)))) {
+            file.writeInt(VocabularyPack.MAGIC);
+            file.writeInt(VocabularyPack.VERSION);
+            file.writeInt(strings.size());
+            file.writeInt(decks.size());
+            for (int offset : stringOffsets) {
+                file.writeInt(offset);
+            }
+            stringData.writeTo(file);
+            file.write(new byte[directoryPosition - stringDataPosition - stringData.size()]);
+            for (int[] entry : directoryEntries) {
+                for (int value : entry) {
+                    file.writeInt(value);
+                }
+            }
+            body.writeTo(file);
+        }
+        Files.move(tmp, pack, StandardCopyOption.REPLACE_EXISTING);
+    }
+
+    private void writeIds(DataOutputStream out, List<String> meanings) throws IOException {
+        out.writeInt(meanings.size());
+        for (String meaning : meanings) {
+            out.writeInt(strings.get(meaning));
+        }
+    }
+
+    private static int align(int position) {
+        return (position + Integer.BYTES - 1) & -Integer.BYTES;
+    }
+}
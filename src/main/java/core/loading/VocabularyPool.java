@@ -0,0 +1,85 @@
+package core.loading;
+
+import model.Vocabulary;
+
+import java.lang.ref.WeakReference;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Interns meanings and vocabularies while they are loaded. Equal meanings like "1 book" and equal vocabularies
+ * that appear in a lesson and in a theme share one instance, no matter which file or the pack they come from.
+ * The pool only holds weak references, so meanings and vocabularies of a deck that was reloaded
+ * disappear from it once no deck or questionnaire uses them anymore.
+ * Each pool is split into stripes by hash code with a lock of their own, so decks loading in parallel rarely wait.
+ */
+final class VocabularyPool {
+    private static final Pool<String> meanings = new Pool<>();
+    private static final Pool<Vocabulary> vocabularies = new Pool<>();
+
+    private VocabularyPool() {}
+
+    /**
+     * @return the pooled instance of the meaning
+     */
+    static String meaning(String meaning) {
+        return meanings.intern(meaning);
+    }
+
+    /**
+     * Interns the meanings and the vocabulary made of them
+     * @return the pooled vocabulary with these meanings
+     */
+    static Vocabulary vocabulary(List<String> japanese, List<String> englishGerman) {
+        return vocabularies.intern(new Vocabulary(pooled(japanese), pooled(englishGerman)));
+    }
+
+    private static List<String> pooled(List<String> meanings) {
+        String[] pooled = new String[meanings.size()];
+        for (int i = 0; i < pooled.length; i++) {
+            pooled[i] = meaning(meanings.get(i));
+        }
+        return List.of(pooled);
+    }
+
+    /**
+     * Weak interning, an instance always goes to the stripe of its hash code
+     */
+    private static final class Pool<T> {
+        private static final int STRIPES = 32; // power of two
+
+        private final Stripe<T>[] stripes;
+
+        @SuppressWarnings("unchecked")
+        private Pool() {
+            stripes = new Stripe[STRIPES];
+            for (int i = 0; i < STRIPES; i++) {
+                stripes[i] = new Stripe<>();
+            }
+        }
+
+        T intern(T instance) {
+            int hash = instance.hashCode();
+            return stripes[(hash ^ (hash >>> 16)) & (STRIPES - 1)].intern(instance);
+        }
+    }
+
+    /**
+     * The canonical instance is the key as well as the referent of the value,
+     * so an entry is removed as soon as the instance isn't reachable from outside the pool.
+     */
+    private static final class Stripe<T> {
+        private final Map<T, WeakReference<T>> instances = new WeakHashMap<>();
+
+        synchronized T intern(T instance) {
+            WeakReference<T> reference = instances.get(instance);
+            T pooled = reference == null ? null : reference.get();
+            if (pooled == null) {
+                instances.put(instance, new WeakReference<>(instance));
+                return instance;
+            }
+            return pooled;
+        }
+    }
+}
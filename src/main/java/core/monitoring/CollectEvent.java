@@ -0,0 +1,36 @@
+package core.monitoring;
+
+import jdk.jfr.*;
+
+import java.util.List;
+
+/**
+ * Assembling a questionnaire from the selected decks. Disabled unless a recording enables it.
+ */
+@Name("vocabtrainer.Collect")
+@Label("Collect Questionnaire")
+@Category({"VocabTrainer", "Loading"})
+@Description("Assembling of a questionnaire from the selected decks")
+@Enabled(false)
+public class CollectEvent extends Event {
+    @Label("Decks")
+    private String decks;
+    @Label("Vocabularies")
+    private int vocabularies;
+    @Label("Shareable")
+    @Description("The snapshot may be shared with other sessions, no vocabularies were cut")
+    private boolean shareable;
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     * @param decks names of the selected decks
+     */
+    public void commit(List<String> decks, int vocabularies, boolean shareable) {
+        if (shouldCommit()) {
+            this.decks = String.join("+", decks);
+            this.vocabularies = vocabularies;
+            this.shareable = shareable;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package core.monitoring;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Counts events per second in a ring of the last seconds. Marking is lock free and allocates nothing.
+ * Every slot packs the second it counts for and its count into one long, so moving a slot on to a new second
+ * and counting in it are one compare and set and no event is lost.
+ */
+class EventRate {
+    private static final int SLOTS = 16;
+    // complete seconds the rate is averaged over
+    static final int WINDOW = 10;
+    private static final int COUNT_BITS = 32;
+    private static final long COUNT_MASK = (1L << COUNT_BITS) - 1;
+    // second in the upper bits, events in that second in the lower ones
+    private final AtomicLongArray slots = new AtomicLongArray(SLOTS);
+
+    void mark() {
+        long second = System.currentTimeMillis() / 1000;
+        int slot = (int) (second % SLOTS);
+        long stamp = second << COUNT_BITS;
+        long current;
+        long next;
+        do {
+            current = slots.get(slot);
+            long held = current >>> COUNT_BITS;
+            if (held > second) { // this thread was delayed for a whole ring, the event is too old to count
+                return;
+            } else if (held < second) { // the slot holds an older second, start it again
+                next = stamp | 1;
+            } else if ((current & COUNT_MASK) == COUNT_MASK) { // saturated
+                return;
+            } else {
+                next = current + 1;
+            }
+        } while (!slots.compareAndSet(slot, current, next));
+    }
+
+    /**
+     * @return events per second over the last complete seconds
+     */
+    double perSecond() {
+        long now = System.currentTimeMillis() / 1000;
+        long events = 0;
+        for (long second = now - WINDOW; second < now; second++) {
+            long current = slots.get((int) (second % SLOTS));
+            if (current >>> COUNT_BITS == second) {
+                events += current & COUNT_MASK;
+            }
+        }
+        return (double) events / WINDOW;
+    }
+}
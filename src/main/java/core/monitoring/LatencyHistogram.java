@@ -0,0 +1,92 @@
+package core.monitoring;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAccumulator;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Histogram with fixed, power of two buckets from 1 µs up to about one second.
+ * Recording is lock free and allocates nothing. Percentiles are only as exact as the buckets.
+ */
+class LatencyHistogram {
+    // bucket i holds latencies below 2^i µs, the last one everything above
+    static final int BUCKETS = 22;
+    private final LongAdder[] buckets = new LongAdder[BUCKETS];
+    private final LongAdder sum = new LongAdder();
+    private final LongAccumulator max = new LongAccumulator(Long::max, 0);
+
+    LatencyHistogram() {
+        for (int i = 0; i < BUCKETS; i++) {
+            buckets[i] = new LongAdder();
+        }
+    }
+
+    /**
+     * @param nanos duration of one operation
+     */
+    void record(long nanos) {
+        long micros = Math.max(nanos, 0) / 1000;
+        buckets[bucket(micros)].increment();
+        sum.add(micros);
+        max.accumulate(micros);
+    }
+
+    static int bucket(long micros) {
+        return Math.min(64 - Long.numberOfLeadingZeros(micros), BUCKETS - 1);
+    }
+
+    /**
+     * @return upper bound of every bucket in µs, Long.MAX_VALUE for the last one
+     */
+    static long[] bounds() {
+        long[] bounds = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            bounds[i] = 1L << i;
+        }
+        bounds[BUCKETS - 1] = Long.MAX_VALUE;
+        return bounds;
+    }
+
+    long[] counts() {
+        long[] counts = new long[BUCKETS];
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets[i].sum();
+        }
+        return counts;
+    }
+
+    /**
+     * @return count, mean, p50, p90, p99 and max in µs
+     */
+    Map<String, Double> summary() {
+        long[] counts = counts();
+        long count = 0;
+        for (long c : counts) {
+            count += c;
+        }
+        Map<String, Double> summary = new LinkedHashMap<>();
+        summary.put("count", (double) count);
+        summary.put("mean", count == 0 ? 0 : (double) sum.sum() / count);
+        summary.put("p50", percentile(counts, count, 0.5));
+        summary.put("p90", percentile(counts, count, 0.9));
+        summary.put("p99", percentile(counts, count, 0.99));
+        summary.put("max", (double) max.get());
+        return summary;
+    }
+
+    /**
+     * @return upper bound of the bucket that holds the percentile, the max for the last bucket
+     */
+    private double percentile(long[] counts, long count, double quantile) {
+        long rank = (long) Math.ceil(quantile * count);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS - 1; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return 1L << i;
+            }
+        }
+        return count == 0 ? 0 : max.get();
+    }
+}
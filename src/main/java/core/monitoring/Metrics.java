@@ -0,0 +1,197 @@
+package core.monitoring;
+
+import core.loading.VocabularyIndex;
+import core.util.Grade;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import java.util.logging.Logger;
+
+/**
+ * Registry of the live metrics. All counters are lock free, so recording never blocks a session.
+ * It is registered in the platform MBean server on first use and can be watched with any JMX client, e.g. jconsole.
+ */
+public final class Metrics implements MetricsMXBean {
+    public static final String OBJECT_NAME = "vocabtrainer:type=Metrics";
+    // outcomes of vocabularies that belong to no deck of the manifest
+    public static final String OTHER_DECK = "other";
+    private static final Logger logger = Logger.getLogger("Metrics");
+
+    private final LongAdder activeSessions = new LongAdder();
+    private final LongAdder questionsServed = new LongAdder();
+    private final EventRate questionRate = new EventRate();
+    private final Map<String, DeckOutcomes> decks = new ConcurrentHashMap<>();
+    private final Map<String, LongAdder> parseFailures = new ConcurrentHashMap<>();
+    private final LatencyHistogram gradingLatency = new LatencyHistogram();
+    private final LatencyHistogram assemblyLatency = new LatencyHistogram();
+
+    private Metrics() {}
+
+    /**
+     * @return the registry of this JVM
+     */
+    public static Metrics get() {
+        return Registered.METRICS;
+    }
+
+    public void sessionStarted() {
+        activeSessions.increment();
+    }
+
+    public void sessionEnded() {
+        activeSessions.decrement();
+    }
+
+    public void questionServed() {
+        questionsServed.increment();
+        questionRate.mark();
+    }
+
+    /**
+     * Only decks of the manifest are counted, so the number of counters stays bounded whatever learners select
+     * @param deck manifest id of the deck, e.g. 'lessons/l6', or {@link #OTHER_DECK}
+     * @return counters of the deck, a session should keep them instead of looking them up per answer
+     * @throws IllegalArgumentException if the manifest has no such deck
+     */
+    public DeckOutcomes deck(String deck) {
+        if (!deck.equals(OTHER_DECK) && VocabularyIndex.get(deck) == null) {
+            throw new IllegalArgumentException("Unknown deck '%s'".formatted(deck));
+        }
+        return decks.computeIfAbsent(deck, d -> new DeckOutcomes());
+    }
+
+    /**
+     * @param file vocabulary file that was parsed
+     * @param rejected number of rejected lines, nothing is recorded for 0
+     */
+    public void parseFailures(String file, int rejected) {
+        if (rejected > 0) {
+            parseFailures.computeIfAbsent(file, f -> new LongAdder()).add(rejected);
+        }
+    }
+
+    public void gradingLatency(long nanos) {
+        gradingLatency.record(nanos);
+    }
+
+    public void assemblyLatency(long nanos) {
+        assemblyLatency.record(nanos);
+    }
+
+    @Override
+    public int getActiveSessions() {
+        return activeSessions.intValue();
+    }
+
+    @Override
+    public long getQuestionsServed() {
+        return questionsServed.sum();
+    }
+
+    @Override
+    public double getQuestionsPerSecond() {
+        return questionRate.perSecond();
+    }
+
+    @Override
+    public Map<String, Long> getCorrectAnswersPerDeck() {
+        return perDeck(outcomes -> outcomes.correct.sum());
+    }
+
+    @Override
+    public Map<String, Long> getIncorrectAnswersPerDeck() {
+        return perDeck(outcomes -> outcomes.incorrect.sum());
+    }
+
+    @Override
+    public Map<String, Double> getCorrectRatePerDeck() {
+        return perDeck(outcomes -> outcomes.rate(outcomes.correct));
+    }
+
+    @Override
+    public Map<String, Double> getIncorrectRatePerDeck() {
+        return perDeck(outcomes -> outcomes.rate(outcomes.incorrect));
+    }
+
+    @Override
+    public Map<String, Long> getParseFailuresPerFile() {
+        Map<String, Long> failures = new TreeMap<>();
+        parseFailures.forEach((file, rejected) -> failures.put(file, rejected.sum()));
+        return failures;
+    }
+
+    @Override
+    public long[] getLatencyBucketBoundsMicros() {
+        return LatencyHistogram.bounds();
+    }
+
+    @Override
+    public long[] getGradingLatencyBuckets() {
+        return gradingLatency.counts();
+    }
+
+    @Override
+    public Map<String, Double> getGradingLatencyMicros() {
+        return gradingLatency.summary();
+    }
+
+    @Override
+    public long[] getAssemblyLatencyBuckets() {
+        return assemblyLatency.counts();
+    }
+
+    @Override
+    public Map<String, Double> getAssemblyLatencyMicros() {
+        return assemblyLatency.summary();
+    }
+
+    private <T> Map<String, T> perDeck(Function<DeckOutcomes, T> value) {
+        Map<String, T> values = new TreeMap<>();
+        decks.forEach((deck, outcomes) -> values.put(deck, value.apply(outcomes)));
+        return values;
+    }
+
+    /**
+     * Graded answers of one deck
+     */
+    public static final class DeckOutcomes {
+        private final LongAdder correct = new LongAdder();
+        private final LongAdder incorrect = new LongAdder();
+
+        private DeckOutcomes() {}
+
+        /**
+         * Counts an answer, near misses are counted as correct
+         */
+        public void record(Grade grade) {
+            (grade == Grade.WRONG ? incorrect : correct).increment();
+        }
+
+        private double rate(LongAdder outcome) {
+            long answers = correct.sum() + incorrect.sum();
+            return answers == 0 ? 0 : (double) outcome.sum() / answers;
+        }
+    }
+
+    /**
+     * Holder so the MBean is only registered when the first metric is recorded
+     */
+    private static final class Registered {
+        private static final Metrics METRICS = register(new Metrics());
+
+        private static Metrics register(Metrics metrics) {
+            try {
+                ManagementFactory.getPlatformMBeanServer().registerMBean(metrics, new ObjectName(OBJECT_NAME));
+            } catch (JMException e) {
+                logger.warning("Metrics couldn't be registered, they are only collected: %s".formatted(e.getMessage()));
+            }
+            return metrics;
+        }
+    }
+}
@@ -0,0 +1,60 @@
+package core.monitoring;
+
+import java.util.Map;
+
+/**
+ * Live metrics of the trainer, registered as 'vocabtrainer:type=Metrics' in the platform MBean server.
+ * Latencies are given in microseconds. A deck is the manifest id of a vocabulary file, e.g. 'lessons/l6'.
+ * Answers count for the deck their vocabulary was taken from.
+ */
+public interface MetricsMXBean {
+    /**
+     * @return sessions of the console or the server that are running right now
+     */
+    int getActiveSessions();
+
+    long getQuestionsServed();
+
+    /**
+     * @return questions served per second, averaged over the last complete seconds
+     */
+    double getQuestionsPerSecond();
+
+    /**
+     * @return answers that were accepted per deck, near misses included
+     */
+    Map<String, Long> getCorrectAnswersPerDeck();
+
+    Map<String, Long> getIncorrectAnswersPerDeck();
+
+    /**
+     * @return share of accepted answers per deck, between 0 and 1
+     */
+    Map<String, Double> getCorrectRatePerDeck();
+
+    Map<String, Double> getIncorrectRatePerDeck();
+
+    /**
+     * @return rejected lines per vocabulary file since the start
+     */
+    Map<String, Long> getParseFailuresPerFile();
+
+    /**
+     * @return upper bound of every latency bucket, the last bucket is unbounded
+     */
+    long[] getLatencyBucketBoundsMicros();
+
+    long[] getGradingLatencyBuckets();
+
+    /**
+     * @return count, mean, p50, p90, p99 and max of grading an answer
+     */
+    Map<String, Double> getGradingLatencyMicros();
+
+    long[] getAssemblyLatencyBuckets();
+
+    /**
+     * @return count, mean, p50, p90, p99 and max of assembling a questionnaire
+     */
+    Map<String, Double> getAssemblyLatencyMicros();
+}
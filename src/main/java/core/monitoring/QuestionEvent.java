@@ -0,0 +1,92 @@
+package core.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * One question of a session, split into rendering the prompt, waiting for the learner and grading the answer.
+ * Disabled unless a recording enables it. The phases are only timed if it is enabled.
+ */
+@Name("vocabtrainer.Question")
+@Label("Question")
+@Category({"VocabTrainer", "Session"})
+@Description("One question from showing the prompt to grading the answer")
+@Enabled(false)
+public class QuestionEvent extends Event {
+    @Label("Vocabulary")
+    @Description("Position of the vocabulary in the deck")
+    private int vocabulary;
+    @Label("Solution Side")
+    private String solution;
+    @Label("Grade")
+    private String grade;
+    @Label("Render Time")
+    @Description("Formatting the prompt into the output buffer")
+    @Timespan(Timespan.NANOSECONDS)
+    private long renderTime;
+    @Label("Think Time")
+    @Description("Flushing the prompt and waiting for the answer, including requests for help")
+    @Timespan(Timespan.NANOSECONDS)
+    private long thinkTime;
+    @Label("Grading Time")
+    @Timespan(Timespan.NANOSECONDS)
+    private long gradingTime;
+
+    // transient so it is not recorded
+    private transient long phaseStart;
+
+    /**
+     * Starts the event and its first phase
+     */
+    public void start() {
+        begin();
+        if (isEnabled()) {
+            phaseStart = System.nanoTime();
+        }
+    }
+
+    /**
+     * The prompt is written, the learner is asked
+     */
+    public void rendered() {
+        if (isEnabled()) {
+            renderTime = lap();
+        }
+    }
+
+    /**
+     * The answer was read
+     */
+    public void answered() {
+        if (isEnabled()) {
+            thinkTime += lap();
+        }
+    }
+
+    /**
+     * The answer was graded
+     */
+    public void graded() {
+        if (isEnabled()) {
+            gradingTime = lap();
+        }
+    }
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     */
+    public void commit(int vocabulary, String solution, String grade) {
+        if (shouldCommit()) {
+            this.vocabulary = vocabulary;
+            this.solution = solution;
+            this.grade = grade;
+            commit();
+        }
+    }
+
+    private long lap() {
+        long now = System.nanoTime();
+        long phase = now - phaseStart;
+        phaseStart = now;
+        return phase;
+    }
+}
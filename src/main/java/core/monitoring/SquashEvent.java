@@ -0,0 +1,31 @@
+package core.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * Merging the vocabularies of a deck that have the same japanese meanings. Disabled unless a recording enables it.
+ */
+@Name("vocabtrainer.Squash")
+@Label("Squash Same Japanese Meanings")
+@Category({"VocabTrainer", "Loading"})
+@Description("Merging of vocabularies with the same japanese meanings")
+@Enabled(false)
+public class SquashEvent extends Event {
+    @Label("Vocabularies")
+    private int vocabularies;
+    @Label("Merged Vocabularies")
+    private int merged;
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     * @param vocabularies size of the deck
+     * @param merged size of the deck after merging
+     */
+    public void commit(int vocabularies, int merged) {
+        if (shouldCommit()) {
+            this.vocabularies = vocabularies;
+            this.merged = merged;
+            commit();
+        }
+    }
+}
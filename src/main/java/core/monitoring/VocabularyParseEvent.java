@@ -0,0 +1,39 @@
+package core.monitoring;
+
+import jdk.jfr.*;
+
+/**
+ * Parsing one vocabulary file. Disabled unless a recording enables it.
+ */
+@Name("vocabtrainer.VocabularyParse")
+@Label("Vocabulary Parse")
+@Category({"VocabTrainer", "Loading"})
+@Description("Parsing of one vocabulary file")
+@Enabled(false)
+public class VocabularyParseEvent extends Event {
+    @Label("File")
+    private String file;
+    @Label("Format")
+    private String format;
+    @Label("Lines")
+    private int lines;
+    @Label("Rejected Lines")
+    private int rejected;
+    @Label("Vocabularies")
+    private int vocabularies;
+
+    /**
+     * Ends the event and commits it if the recording wants it
+     * @param format 'standard' or 'counter'
+     */
+    public void commit(String file, String format, int lines, int rejected, int vocabularies) {
+        if (shouldCommit()) {
+            this.file = file;
+            this.format = format;
+            this.lines = lines;
+            this.rejected = rejected;
+            this.vocabularies = vocabularies;
+            commit();
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package core.progress;
+
+import core.util.Grade;
+
+/**
+ * Learning history of one vocabulary for one learner
+ * @param attempts how often the vocabulary was answered
+ * @param correct how often the answer was correct, near misses included
+ * @param nearMisses how often the answer was only accepted despite typos
+ * @param streak number of consecutive correct answers up to the last one
+ * @param lastSeen epoch second of the last answer
+ */
+public record Progress(int attempts, int correct, int nearMisses, int streak, long lastSeen) {
+    public static final Progress NONE = new Progress(0, 0, 0, 0, 0);
+
+    /**
+     * @return the progress after one more answer
+     */
+    public Progress plus(Grade grade, long epochSecond) {
+        return switch (grade) {
+            case CORRECT -> new Progress(attempts + 1, correct + 1, nearMisses, streak + 1, epochSecond);
+            case NEAR_MISS -> new Progress(attempts + 1, correct + 1, nearMisses + 1, streak + 1, epochSecond);
+            case WRONG -> new Progress(attempts + 1, correct, nearMisses, 0, epochSecond);
+        };
+    }
+}
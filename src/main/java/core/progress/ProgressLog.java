@@ -0,0 +1,374 @@
+package core.progress;
+
+import core.util.Grade;
+
+import java.io.IOException;
+import java.lang.foreign.Arena;
+import java.lang.foreign.MemorySegment;
+import java.lang.foreign.ValueLayout;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.*;
+import java.util.*;
+import java.util.logging.Logger;
+import java.util.stream.Stream;
+
+/**
+ * One stripe of the {@link ProgressStore}. Answers are appended to 'active.log' as fixed size records.
+ * When the log is full it is sealed as 'segment-N.log' and a background thread merges the sealed segments
+ * into 'summary-N.bin', which holds one record per learner and vocabulary. Opening a stripe reads the newest summary
+ * and only the few segments that weren't compacted yet. All files are big endian.
+ */
+class ProgressLog {
+    // learner, item, epoch second (unsigned int), grade, 3 bytes padding
+    static final int RECORD_SIZE = 24;
+    static final int SUMMARY_MAGIC = 0x50534D31; // "PSM1"
+    static final int SUMMARY_HEADER_SIZE = 16;
+    // learner, item, attempts, correct, near misses, streak, last seen
+    static final int SUMMARY_RECORD_SIZE = 40;
+    private static final long SEGMENT_SIZE = Math.max(RECORD_SIZE,
+            Long.getLong("vocabtrainer.progress.segmentBytes", 1 << 20) / RECORD_SIZE * RECORD_SIZE);
+    private static final ValueLayout.OfInt INT = ValueLayout.JAVA_INT_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final ValueLayout.OfLong LONG = ValueLayout.JAVA_LONG_UNALIGNED.withOrder(ByteOrder.BIG_ENDIAN);
+    private static final Grade[] GRADES = Grade.values();
+    private static final String ACTIVE = "active.log";
+    private static final Logger logger = Logger.getLogger("ProgressLog");
+
+    private final Path directory;
+    // learner -> item -> progress
+    private final Map<Long, Map<Long, Progress>> learners;
+    private final ByteBuffer record = ByteBuffer.allocateDirect(RECORD_SIZE);
+    private FileChannel active;
+    private long activeSize;
+    private long lastSegment;
+    private long compactedThrough;
+    // last segment of a compaction that failed, it is only tried again once another segment is sealed
+    private long failedThrough;
+    private Thread compaction;
+    private boolean closing;
+    // true after writing the active log failed, the next append reopens it
+    private boolean failed;
+
+    private ProgressLog(Path directory, Map<Long, Map<Long, Progress>> learners, long lastSegment, long compactedThrough) {
+        this.directory = directory;
+        this.learners = learners;
+        this.lastSegment = lastSegment;
+        this.compactedThrough = compactedThrough;
+    }
+
+    /**
+     * Opens the stripe and replays its state. Files left over by an interrupted compaction are removed,
+     * a record that was only partially written is cut off.
+     */
+    static ProgressLog open(Path directory) throws IOException {
+        Files.createDirectories(directory);
+        long compactedThrough = 0;
+        List<Long> summaries = new ArrayList<>();
+        List<Long> segments = new ArrayList<>();
+        try (Stream<Path> files = Files.list(directory)) {
+            for (Path file : files.toList()) {
+                String name = file.getFileName().toString();
+                if (name.startsWith("summary-") && name.endsWith(".bin")) {
+                    summaries.add(sequence(name));
+                } else if (name.startsWith("segment-") && name.endsWith(".log")) {
+                    segments.add(sequence(name));
+                } else if (name.endsWith(".tmp")) {
+                    Files.delete(file);
+                }
+            }
+        }
+        for (long summary : summaries) {
+            compactedThrough = Math.max(compactedThrough, summary);
+        }
+        Map<Long, Map<Long, Progress>> learners = new HashMap<>();
+        for (long summary : summaries) {
+            if (summary == compactedThrough) {
+                readSummary(directory.resolve(summaryName(summary)), learners);
+            } else {
+                Files.delete(directory.resolve(summaryName(summary)));
+            }
+        }
+        Collections.sort(segments);
+        long lastSegment = compactedThrough;
+        for (long segment : segments) {
+            if (segment <= compactedThrough) {
+                Files.delete(directory.resolve(segmentName(segment)));
+            } else {
+                replay(directory.resolve(segmentName(segment)), learners);
+                lastSegment = segment;
+            }
+        }
+        ProgressLog log = new ProgressLog(directory, learners, lastSegment, compactedThrough);
+        Path active = directory.resolve(ACTIVE);
+        if (Files.exists(active)) {
+            long size = replay(active, learners);
+            if (size != Files.size(active)) {
+                logger.warning("Cut off a partially written record in %s".formatted(active));
+            }
+            try (FileChannel channel = FileChannel.open(active, StandardOpenOption.WRITE)) {
+                channel.truncate(size);
+            }
+        }
+        log.openActive();
+        synchronized (log) {
+            if (log.activeSize >= SEGMENT_SIZE) {
+                log.rotate();
+            } else if (lastSegment > compactedThrough) {
+                log.startCompaction();
+            }
+        }
+        return log;
+    }
+
+    /**
+     * Appends the answer to the log and updates the in-memory state. The record isn't forced to disk,
+     * it survives a crash of the process but not necessarily one of the system.
+     * If a write fails only this stripe is affected, the next append reopens the log and tries again.
+     * @throws IOException if the answer couldn't be written, it isn't applied then
+     */
+    synchronized void append(long learner, long item, Grade grade, long epochSecond) throws IOException {
+        if (closing) {
+            throw new IOException("%s is closed".formatted(directory));
+        } else if (failed) {
+            reopenActive();
+        }
+        record.clear();
+        record.putLong(learner).putLong(item).putInt((int) epochSecond).put((byte) grade.ordinal())
+                .put((byte) 0).putShort((short) 0).flip();
+        try {
+            while (record.hasRemaining()) {
+                active.write(record);
+            }
+        } catch (IOException e) {
+            failed = true;
+            throw e;
+        }
+        activeSize += RECORD_SIZE;
+        apply(learners, learner, item, grade, epochSecond);
+        if (activeSize >= SEGMENT_SIZE) {
+            try {
+                rotate();
+            } catch (IOException e) { // the answer is saved, sealing is tried again with the next one
+                failed = true;
+                logger.warning("Couldn't seal the log of %s: %s".formatted(directory, e));
+            }
+        }
+    }
+
+    synchronized Map<Long, Progress> of(long learner) {
+        return Map.copyOf(learners.getOrDefault(learner, Map.of()));
+    }
+
+    void close() throws IOException {
+        Thread running;
+        synchronized (this) {
+            closing = true;
+            running = compaction;
+        }
+        if (running != null) {
+            try {
+                running.join();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+        }
+        synchronized (this) {
+            if (active.isOpen()) {
+                active.force(false);
+                active.close();
+            }
+        }
+    }
+
+    private void openActive() throws IOException {
+        active = FileChannel.open(directory.resolve(ACTIVE),
+                StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+        activeSize = active.size();
+    }
+
+    /**
+     * Opens the active log again after a failed write, cuts off a partially written record
+     * and seals the log if that failed before
+     */
+    private void reopenActive() throws IOException {
+        if (active.isOpen()) {
+            active.close();
+        }
+        openActive();
+        long complete = activeSize / RECORD_SIZE * RECORD_SIZE;
+        if (complete != activeSize) {
+            active.truncate(complete);
+            activeSize = complete;
+        }
+        failed = false;
+        if (activeSize >= SEGMENT_SIZE) {
+            rotate();
+        }
+    }
+
+    /**
+     * Seals the active log as the next segment and starts a new one
+     */
+    private void rotate() throws IOException {
+        active.close();
+        Files.move(directory.resolve(ACTIVE), directory.resolve(segmentName(lastSegment + 1)), StandardCopyOption.ATOMIC_MOVE);
+        lastSegment++;
+        openActive();
+        startCompaction();
+    }
+
+    private void startCompaction() {
+        if (compaction != null || closing) { // a running compaction picks up the new segment when it is done
+            return;
+        }
+        long from = compactedThrough;
+        long through = lastSegment;
+        compaction = Thread.ofVirtual().name("progress-compaction").start(() -> compact(from, through));
+    }
+
+    /**
+     * Merges the summary 'from' and the segments after it up to 'through' into a new summary.
+     * Sealed segments and summaries never change, so this runs without holding the lock.
+     */
+    private void compact(long from, long through) {
+        try {
+            Map<Long, Map<Long, Progress>> merged = new HashMap<>();
+            if (from > 0) {
+                readSummary(directory.resolve(summaryName(from)), merged);
+            }
+            for (long segment = from + 1; segment <= through; segment++) {
+                replay(directory.resolve(segmentName(segment)), merged);
+            }
+            Path tmp = directory.resolve(summaryName(through) + ".tmp");
+            writeSummary(tmp, merged);
+            verifySummary(tmp, merged);
+            Files.move(tmp, directory.resolve(summaryName(through)), StandardCopyOption.ATOMIC_MOVE);
+            synchronized (this) {
+                compactedThrough = through;
+            }
+            if (from > 0) {
+                Files.delete(directory.resolve(summaryName(from)));
+            }
+            for (long segment = from + 1; segment <= through; segment++) {
+                Files.delete(directory.resolve(segmentName(segment)));
+            }
+        } catch (IOException e) {
+            synchronized (this) {
+                failedThrough = through;
+            }
+            logger.warning("Compaction of %s failed, it is retried with the next segment: %s".formatted(directory, e.getMessage()));
+        } finally {
+            synchronized (this) {
+                compaction = null;
+                if (lastSegment > compactedThrough && lastSegment > failedThrough) {
+                    startCompaction();
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads a written summary back. The segments are only deleted if it replays to exactly the merged progress,
+     * otherwise the summary is removed and the segments stay.
+     */
+    private static void verifySummary(Path summary, Map<Long, Map<Long, Progress>> merged) throws IOException {
+        Map<Long, Map<Long, Progress>> replayed = new HashMap<>();
+        readSummary(summary, replayed);
+        if (!replayed.equals(merged)) {
+            Files.delete(summary);
+            throw new IOException("%s doesn't replay to the merged progress".formatted(summary.getFileName()));
+        }
+    }
+
+    private static void apply(Map<Long, Map<Long, Progress>> learners, long learner, long item, Grade grade, long epochSecond) {
+        learners.computeIfAbsent(learner, l -> new HashMap<>())
+                .compute(item, (key, old) -> (old == null ? Progress.NONE : old).plus(grade, epochSecond));
+    }
+
+    /**
+     * Applies all complete records of the log
+     * @return size of the complete records in bytes
+     */
+    private static long replay(Path log, Map<Long, Map<Long, Progress>> learners) throws IOException {
+        try (Arena arena = Arena.ofConfined(); FileChannel channel = FileChannel.open(log)) {
+            long size = channel.size() / RECORD_SIZE * RECORD_SIZE;
+            if (size == 0) {
+                return 0;
+            }
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, size, arena);
+            for (long position = 0; position < size; position += RECORD_SIZE) {
+                int grade = segment.get(ValueLayout.JAVA_BYTE, position + 20);
+                if (grade < 0 || grade >= GRADES.length) {
+                    logger.warning("Skipped a corrupt record in %s".formatted(log));
+                    continue;
+                }
+                apply(learners, segment.get(LONG, position), segment.get(LONG, position + 8),
+                        GRADES[grade], Integer.toUnsignedLong(segment.get(INT, position + 16)));
+            }
+            return size;
+        }
+    }
+
+    private static void readSummary(Path summary, Map<Long, Map<Long, Progress>> learners) throws IOException {
+        try (Arena arena = Arena.ofConfined(); FileChannel channel = FileChannel.open(summary)) {
+            MemorySegment segment = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size(), arena);
+            if (segment.byteSize() < SUMMARY_HEADER_SIZE || segment.get(INT, 0) != SUMMARY_MAGIC
+                    || segment.byteSize() != SUMMARY_HEADER_SIZE + segment.get(LONG, 8) * SUMMARY_RECORD_SIZE) {
+                throw new IOException("Not a progress summary: %s".formatted(summary));
+            }
+            for (long position = SUMMARY_HEADER_SIZE; position < segment.byteSize(); position += SUMMARY_RECORD_SIZE) {
+                learners.computeIfAbsent(segment.get(LONG, position), l -> new HashMap<>()).put(
+                        segment.get(LONG, position + 8),
+                        new Progress(segment.get(INT, position + 16), segment.get(INT, position + 20),
+                                segment.get(INT, position + 24), segment.get(INT, position + 28),
+                                segment.get(LONG, position + 32))
+                );
+            }
+        }
+    }
+
+    private static void writeSummary(Path summary, Map<Long, Map<Long, Progress>> learners) throws IOException {
+        long count = 0;
+        for (Map<Long, Progress> items : learners.values()) {
+            count += items.size();
+        }
+        try (FileChannel channel = FileChannel.open(summary, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE)) {
+            ByteBuffer buffer = ByteBuffer.allocate(1 << 16);
+            buffer.putInt(SUMMARY_MAGIC).putInt(0).putLong(count);
+            for (Map.Entry<Long, Map<Long, Progress>> learner : learners.entrySet()) {
+                for (Map.Entry<Long, Progress> item : learner.getValue().entrySet()) {
+                    if (buffer.remaining() < SUMMARY_RECORD_SIZE) {
+                        write(channel, buffer);
+                    }
+                    Progress progress = item.getValue();
+                    buffer.putLong(learner.getKey()).putLong(item.getKey())
+                            .putInt(progress.attempts()).putInt(progress.correct()).putInt(progress.nearMisses())
+                            .putInt(progress.streak()).putLong(progress.lastSeen());
+                }
+            }
+            write(channel, buffer);
+            channel.force(true);
+        }
+    }
+
+    private static void write(FileChannel channel, ByteBuffer buffer) throws IOException {
+        buffer.flip();
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+        buffer.clear();
+    }
+
+    private static long sequence(String name) {
+        return Long.parseLong(name.substring(name.indexOf('-') + 1, name.indexOf('.')));
+    }
+
+    private static String summaryName(long sequence) {
+        return "summary-%019d.bin".formatted(sequence);
+    }
+
+    private static String segmentName(long sequence) {
+        return "segment-%019d.log".formatted(sequence);
+    }
+}
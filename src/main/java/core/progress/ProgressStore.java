@@ -0,0 +1,179 @@
+package core.progress;
+
+import core.util.Grade;
+import model.Vocabulary;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+import java.util.regex.Pattern;
+
+/**
+ * Keeps the learning progress across sessions. Every graded answer is appended to a binary log.
+ * Learners are spread over a fixed number of stripes, each with its own log and lock, so concurrent sessions don't contend.
+ * Full logs are sealed into segments and compacted in the background into a summary per vocabulary.
+ * The store is only used if the system property 'vocabtrainer.progress.dir' names a directory.
+ * Learners are identified by their name only, see {@link #isValidLearner(String)}.
+ */
+public class ProgressStore implements AutoCloseable {
+    public static final String DIRECTORY_PROPERTY = "vocabtrainer.progress.dir";
+    private static final Logger logger = Logger.getLogger("ProgressStore");
+    private static final int STRIPES = Integer.getInteger("vocabtrainer.progress.stripes", 8);
+    private static final long FNV_OFFSET = 0xCBF29CE484222325L;
+    private static final long FNV_PRIME = 0x100000001B3L;
+    private static final int MAX_LEARNER_LENGTH = 32;
+    private static final Pattern LEARNER = Pattern.compile("[A-Za-z0-9_-]{1,%d}".formatted(MAX_LEARNER_LENGTH));
+
+    private final ProgressLog[] stripes;
+
+    private ProgressStore(ProgressLog[] stripes) {
+        this.stripes = stripes;
+    }
+
+    /**
+     * Opens the store in the directory and replays the compacted summaries and the logs that are not compacted yet
+     * @param directory created if it doesn't exist
+     * @param stripeCount number of stripes. Must stay the same for a directory
+     */
+    public static ProgressStore open(Path directory, int stripeCount) throws IOException {
+        Files.createDirectories(directory);
+        ProgressLog[] stripes = new ProgressLog[stripeCount];
+        for (int i = 0; i < stripeCount; i++) {
+            stripes[i] = ProgressLog.open(directory.resolve("stripe-%02d".formatted(i)));
+        }
+        return new ProgressStore(stripes);
+    }
+
+    /**
+     * @return the store of the configured directory or null if no directory is configured or it couldn't be opened
+     */
+    public static ProgressStore configured() {
+        return Configured.STORE;
+    }
+
+    /**
+     * @return the learner of the console session, the system property 'vocabtrainer.learner' or the user name
+     */
+    public static String defaultLearner() {
+        String name = System.getProperty("vocabtrainer.learner", System.getProperty("user.name", "default"));
+        name = name.replaceAll("[^A-Za-z0-9_-]", "_");
+        name = name.length() > MAX_LEARNER_LENGTH ? name.substring(0, MAX_LEARNER_LENGTH) : name;
+        return name.isEmpty() ? "default" : name;
+    }
+
+    /**
+     * Names are not authenticated: whoever types a name reads and extends its progress.
+     * They are restricted so that no input of a remote session reaches the store or its logs unchecked.
+     * @return true if the name has 1 to 32 characters, all of them ASCII letters, digits, '_' or '-'
+     */
+    public static boolean isValidLearner(String name) {
+        return LEARNER.matcher(name).matches();
+    }
+
+    /**
+     * Appends a graded answer. A failed write only affects the stripe of the learner, the next answer
+     * on it tries again. The session goes on either way.
+     * @param learner name of the learner
+     * @param item content key of the vocabulary, see {@link #key(Vocabulary)}
+     * @return false if the answer couldn't be saved
+     * @throws IllegalArgumentException if the name of the learner isn't valid
+     */
+    public boolean record(String learner, long item, Grade grade) {
+        long learnerKey = learnerKey(learner);
+        try {
+            stripe(learnerKey).append(learnerKey, item, grade, Instant.now().getEpochSecond());
+            return true;
+        } catch (IOException e) {
+            logger.warning("Progress couldn't be saved: %s".formatted(e));
+            return false;
+        }
+    }
+
+    /**
+     * @return copy of the progress of the learner on every vocabulary answered so far, keyed by the content key
+     * @throws IllegalArgumentException if the name of the learner isn't valid
+     */
+    public Map<Long, Progress> of(String learner) {
+        long learnerKey = learnerKey(learner);
+        return stripe(learnerKey).of(learnerKey);
+    }
+
+    /**
+     * Content key of a vocabulary. It stays the same as long as the meanings don't change,
+     * no matter in which deck or position the vocabulary is loaded.
+     * @return 64-bit FNV-1a hash over all meanings
+     */
+    public static long key(Vocabulary vocabulary) {
+        return hash(hash(FNV_OFFSET, vocabulary.getJapanese()), vocabulary.getEnglishGerman());
+    }
+
+    /**
+     * Waits for running compactions and closes the logs
+     */
+    @Override
+    public void close() throws IOException {
+        for (ProgressLog stripe : stripes) {
+            stripe.close();
+        }
+    }
+
+    private static long learnerKey(String learner) {
+        if (!isValidLearner(learner)) {
+            throw new IllegalArgumentException("Invalid learner name '%s'".formatted(learner));
+        }
+        return hash(FNV_OFFSET, learner);
+    }
+
+    private ProgressLog stripe(long learnerKey) {
+        return stripes[(int) Long.remainderUnsigned(learnerKey, stripes.length)];
+    }
+
+    private static long hash(long h, List<String> meanings) {
+        for (String meaning : meanings) {
+            h = hash(h, meaning);
+            h = (h ^ 0x1F) * FNV_PRIME; // unit separator, so ["ab"] and ["a", "b"] differ
+        }
+        return (h ^ 0x1E) * FNV_PRIME; // record separator between the sides
+    }
+
+    private static long hash(long h, String s) {
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            h = (h ^ (c & 0xFF)) * FNV_PRIME;
+            h = (h ^ (c >>> 8)) * FNV_PRIME;
+        }
+        return h;
+    }
+
+    /**
+     * Holder so the configured store is only opened when it is used
+     */
+    private static final class Configured {
+        private static final ProgressStore STORE = openConfigured();
+
+        private static ProgressStore openConfigured() {
+            String directory = System.getProperty(DIRECTORY_PROPERTY);
+            if (directory == null) {
+                return null;
+            }
+            try {
+                ProgressStore store = open(Path.of(directory), STRIPES);
+                Runtime.getRuntime().addShutdownHook(new Thread(() -> {
+                    try {
+                        store.close();
+                    } catch (IOException e) {
+                        logger.warning("Progress store couldn't be closed: %s".formatted(e.getMessage()));
+                    }
+                }));
+                return store;
+            } catch (IOException e) {
+                logger.warning("Progress store couldn't be opened, progress won't be saved: %s".formatted(e.getMessage()));
+                return null;
+            }
+        }
+    }
+}
@@ -2,13 +2,10 @@ package core.selecting;
 
 import core.loading.QuestionnaireLoader;
 import core.util.ArrayUtil;
+import core.util.SessionIO;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 
-import static core.util.ReaderWriterUtility.*;
-
 public class LessonSelector {
 
     private static final String SELECT_LESSON =
@@ -29,13 +26,13 @@ public class LessonSelector {
     /**
      * Processes selecting lessons
      */
-    public static void selectLessons(BufferedReader br, BufferedWriter bw, QuestionnaireLoader questionnaireLoader) throws IOException {
+    public static void selectLessons(SessionIO io, QuestionnaireLoader questionnaireLoader) throws IOException {
         //recurses as often as the user wants it
-        writeFlushWait(bw, SELECT_LESSON);
+        io.writeWait(SELECT_LESSON);
         String[] mode;
         do {
-             mode = formattedRead(br, " ");
-        }while (processMode(bw, questionnaireLoader, mode));
+             mode = io.formattedRead(' ');
+        }while (processMode(io, questionnaireLoader, mode));
     }
 
     /**
@@ -45,12 +42,12 @@ public class LessonSelector {
      * $range yields the vocabularies within the range of the lessons
      * @return true if method must loop
      */
-    private static boolean processMode(BufferedWriter bw, QuestionnaireLoader questionnaireLoader, String[] mode) throws IOException {
+    private static boolean processMode(SessionIO io, QuestionnaireLoader questionnaireLoader, String[] mode) throws IOException {
         boolean loop = false;
         switch (mode[0]) {
             case "$exit" -> {}
             case "$help" -> {
-                writeAndFlush(bw, SELECT_LESSON_HELP);
+                io.write(SELECT_LESSON_HELP);
                 loop = true;
             }
             case "$all", "" -> questionnaireLoader.loadAllLessons();
@@ -65,7 +62,7 @@ public class LessonSelector {
                         }
                     }
                 }else {
-                    writeAndFlush(bw,"There weren't any valid numbers. Try again!\r\n");
+                    io.write("There weren't any valid numbers. Try again!\r\n");
                     loop = true;
                 }
             }
@@ -0,0 +1,49 @@
+package core.selecting;
+
+import core.loading.SearchIndex;
+import core.util.SessionIO;
+import lombok.experimental.UtilityClass;
+
+import java.io.IOException;
+import java.util.List;
+
+@UtilityClass
+public class SearchSelector {
+    private static final int MAX_HITS = 20;
+
+    private static final String SEARCH =
+            """
+                Type the beginning of a japanese word (romaji) or of an English/German meaning to look it up.\r
+                Case, umlauts and hyphens don't matter. Type '$exit' to go back to the mode selection.\r
+            """;
+
+    /**
+     * Looks up vocabularies until the user exits. Nothing is selected for questioning.
+     */
+    public static void search(SessionIO io) throws IOException {
+        io.writeWait(SEARCH);
+        String query;
+        while (!(query = io.readLine().trim()).equals("$exit")) {
+            if (!query.isEmpty()) {
+                writeHits(io, SearchIndex.current(), query);
+            }
+            io.writeWait("Search again or type '$exit'.\r\n");
+        }
+    }
+
+    private static void writeHits(SessionIO io, SearchIndex index, String query) {
+        List<SearchIndex.Hit> hits = index.search(query, MAX_HITS);
+        if (hits.isEmpty()) {
+            io.write("Nothing starts with '%s'.%n".formatted(query));
+            return;
+        }
+        for (SearchIndex.Hit hit : hits) {
+            io.write("%s : %s (%s)%n".formatted(
+                    hit.vocabulary().getJapanese(), hit.vocabulary().getEnglishGerman(), hit.deck()));
+        }
+        int matches = index.count(query);
+        if (matches > hits.size()) {
+            io.write("%s meanings start with '%s', type more letters to narrow it down.%n".formatted(matches, query));
+        }
+    }
+}
@@ -2,14 +2,11 @@ package core.selecting;
 
 import core.loading.QuestionnaireLoader;
 import core.loading.ThemeLoader;
+import core.util.SessionIO;
 import lombok.experimental.UtilityClass;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
 
-import static core.util.ReaderWriterUtility.*;
-
 @UtilityClass
 public class ThemeSelector {
 
@@ -32,32 +29,32 @@ public class ThemeSelector {
     /**
      * Selects possible themes.
      */
-    public static void selectTheme(BufferedReader br, BufferedWriter bw, QuestionnaireLoader questionnaireLoader) throws IOException {
-        writeFlushWait(bw, SELECT_THEMES);
-        String s = readLine(br);
+    public static void selectTheme(SessionIO io, QuestionnaireLoader questionnaireLoader) throws IOException {
+        io.writeWait(SELECT_THEMES);
+        String s = io.readLine();
         switch (s){
             case "$exit" -> {}
             case "$counter" -> {
-                writeFlushWait(bw, SELECT_COUNTER_MODE);
-                selectCounterMode(br, bw, questionnaireLoader);
+                io.writeWait(SELECT_COUNTER_MODE);
+                selectCounterMode(io, questionnaireLoader);
                 questionnaireLoader.setInfo("Counters: The categories are %s%n".formatted(ThemeLoader.getCOUNTER_NAMES()));
             }
             case "$days" -> {
-                writeFlushWait(bw, SELECT_DAYS_MODE);
-                selectDaysMode(br, bw, questionnaireLoader);
+                io.writeWait(SELECT_DAYS_MODE);
+                selectDaysMode(io, questionnaireLoader);
             }
             case "$positions" -> questionnaireLoader.loadPositions();
             case "$directions" -> questionnaireLoader.loadDirections();
             case "$families" -> questionnaireLoader.loadFamilies();
-            default -> writeAndFlush(bw, "Mode is not supported.\r\n");
+            default -> io.write("Mode is not supported.\r\n");
         }
     }
 
     /**
      * If $days was selected then processes the following modes.
      */
-    private static void selectDaysMode(BufferedReader br, BufferedWriter bw, QuestionnaireLoader questionnaireLoader) throws IOException {
-        String mode = readLine(br);
+    private static void selectDaysMode(SessionIO io, QuestionnaireLoader questionnaireLoader) throws IOException {
+        String mode = io.readLine();
         switch (mode){
             case "$exit" -> {}
             case "$all", "" -> {
@@ -66,7 +63,7 @@ public class ThemeSelector {
             }
             case "$weekdays" -> questionnaireLoader.loadWeekDays();
             case "$month" -> questionnaireLoader.loadMonthDays();
-            default -> writeAndFlush(bw, "Unknown mode %s. Type a valid mode.%n".formatted(mode));
+            default -> io.write("Unknown mode %s. Type a valid mode.%n".formatted(mode));
         }
     }
 
@@ -74,14 +71,14 @@ public class ThemeSelector {
      * Selects possible counter modes. Supported are $all yielding all possible counters, and specific by name yielding the correlating counter.
      * Typing $list will list all possible names of the counters.
      */
-    private static void selectCounterMode(BufferedReader br, BufferedWriter bw, QuestionnaireLoader questionnaireLoader) throws IOException {
-        String mode = readLine(br);
+    private static void selectCounterMode(SessionIO io, QuestionnaireLoader questionnaireLoader) throws IOException {
+        String mode = io.readLine();
         switch (mode){
             case "$exit" -> {}
             case "$all","" -> questionnaireLoader.loadAllCounter();
             case "$ls"-> {
-                writeFlushWait(bw, "These are the categories:%n%s%nSelect a mode as mentioned above.%n".formatted(ThemeLoader.getCOUNTER_NAMES()));
-                selectCounterMode(br, bw, questionnaireLoader);
+                io.writeWait("These are the categories:%n%s%nSelect a mode as mentioned above.%n".formatted(ThemeLoader.getCOUNTER_NAMES()));
+                selectCounterMode(io, questionnaireLoader);
             }
             default -> {
                 for (String s : mode.split(" ")) {
@@ -0,0 +1,167 @@
+package core.util;
+
+import model.Questionnaire;
+import model.Side;
+import model.Vocabulary;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.WeakHashMap;
+
+/**
+ * Normalized meanings of a whole deck. It is built once when the deck is assembled,
+ * afterwards grading an answer only costs a hash lookup per typed meaning.
+ * Typos are tolerated if a maximum edit distance greater than 0 is configured
+ * (system property 'vocabtrainer.fuzzy.maxDistance').
+ * Japanese meanings are compared in the romaji of the vocabularies, so they may be typed in kana or Kunrei romaji as well.
+ * A long o is also accepted as 'ou', the way it is written in hiragana ('kyoudai' for 'kyoodai').
+ */
+public final class AnswerIndex {
+    public static final int DEFAULT_MAX_DISTANCE = Integer.getInteger("vocabtrainer.fuzzy.maxDistance", 0);
+    private static final char MEANINGS_SPLIT = ',';
+    private static final char ALTERNATIVE_SPLIT = ';';
+    // index of every questionnaire in use, dropped together with the questionnaire
+    private static final Map<Questionnaire, AnswerIndex> indexes = new WeakHashMap<>();
+
+    private final AnswerSet[] japanese;
+    private final AnswerSet[] englishGerman;
+    private final int maxDistance;
+
+    private AnswerIndex(AnswerSet[] japanese, AnswerSet[] englishGerman, int maxDistance) {
+        this.japanese = japanese;
+        this.englishGerman = englishGerman;
+        this.maxDistance = maxDistance;
+    }
+
+    /**
+     * Gets the index of a questionnaire. It is built on the first call, every session of a shared
+     * questionnaire grades against the same index.
+     * @param questionnaire deck, the index refers to its vocabularies by their position
+     */
+    public static AnswerIndex of(Questionnaire questionnaire) {
+        synchronized (indexes) {
+            AnswerIndex index = indexes.get(questionnaire);
+            if (index != null) {
+                return index;
+            }
+        }
+        AnswerIndex index = of(questionnaire.getVocabularies());
+        synchronized (indexes) {
+            AnswerIndex witness = indexes.putIfAbsent(questionnaire, index);
+            return witness == null ? index : witness;
+        }
+    }
+
+    /**
+     * @param vocabularies deck, the index refers to the vocabularies by their position in it
+     */
+    public static AnswerIndex of(List<Vocabulary> vocabularies) {
+        return of(vocabularies, DEFAULT_MAX_DISTANCE);
+    }
+
+    /**
+     * @param vocabularies deck, the index refers to the vocabularies by their position in it
+     * @param maxDistance edits a typed meaning may be away from a solution to count as near miss, 0 turns it off
+     */
+    public static AnswerIndex of(List<Vocabulary> vocabularies, int maxDistance) {
+        AnswerSet[] japanese = new AnswerSet[vocabularies.size()];
+        AnswerSet[] englishGerman = new AnswerSet[vocabularies.size()];
+        for (int i = 0; i < vocabularies.size(); i++) {
+            japanese[i] = AnswerSet.of(romaji(vocabularies.get(i).getJapanese()), maxDistance > 0);
+            englishGerman[i] = AnswerSet.of(vocabularies.get(i).getEnglishGerman(), maxDistance > 0);
+        }
+        return new AnswerIndex(japanese, englishGerman, maxDistance);
+    }
+
+    private static List<String> romaji(List<String> meanings) {
+        List<String> romaji = new ArrayList<>(meanings.size() * 2);
+        for (String meaning : meanings) {
+            romaji.add(Kana.TO_ROMAJI.apply(meaning));
+            romaji.add(Kana.TO_ROMAJI.apply(Kana.TO_HIRAGANA.apply(meaning)));
+        }
+        return romaji;
+    }
+
+    public AnswerSet get(int vocabulary, Side side) {
+        return side == Side.JAPANESE ? japanese[vocabulary] : englishGerman[vocabulary];
+    }
+
+    public int size() {
+        return japanese.length;
+    }
+
+    /**
+     * @return a new grader. Graders hold a cursor and must not be shared between threads
+     */
+    public Grader grader() {
+        return new Grader();
+    }
+
+    public final class Grader {
+        private final NormalizedChars chars = new NormalizedChars();
+        // japanese meaning of the answer in romaji, reused for every answer
+        private final StringBuilder romaji = new StringBuilder();
+
+        /**
+         * Checks a typed answer. Meanings may be separated by ',', ', ' or ';'.
+         * @param vocabulary position of the questioned vocabulary
+         * @param side side that holds the solutions
+         * @param answer line typed by the user
+         * @return true if the answer is correct or a near miss
+         */
+        public boolean isCorrect(int vocabulary, Side side, CharSequence answer) {
+            return grade(vocabulary, side, answer) != Grade.WRONG;
+        }
+
+        /**
+         * Grades a typed answer. Meanings may be separated by ',', ', ' or ';'.
+         * @param vocabulary position of the questioned vocabulary
+         * @param side side that holds the solutions
+         * @param answer line typed by the user
+         * @return CORRECT if there is at least one meaning and all typed meanings are solutions,
+         * NEAR_MISS if some of them are only close enough to a solution, otherwise WRONG
+         */
+        public Grade grade(int vocabulary, Side side, CharSequence answer) {
+            AnswerSet solutions = get(vocabulary, side);
+            Grade grade = null;
+            int from = 0;
+            for (int i = 0; i <= answer.length(); i++) {
+                if (i == answer.length() || answer.charAt(i) == MEANINGS_SPLIT || answer.charAt(i) == ALTERNATIVE_SPLIT) {
+                    if (!isBlank(answer, from, i)) {
+                        Grade meaning = gradeMeaning(solutions, side, answer, from, i);
+                        if (meaning == Grade.WRONG) {
+                            return Grade.WRONG;
+                        }
+                        grade = grade == null || meaning == Grade.NEAR_MISS ? meaning : grade;
+                    }
+                    from = i + 1;
+                }
+            }
+            return grade == null ? Grade.WRONG : grade;
+        }
+
+        /**
+         * Grades one typed meaning, the window [from, to) of the answer
+         */
+        private Grade gradeMeaning(AnswerSet solutions, Side side, CharSequence answer, int from, int to) {
+            CharSequence text = answer;
+            if (side == Side.JAPANESE) {
+                romaji.setLength(0);
+                text = Kana.TO_ROMAJI.transliterate(answer, from, to, romaji);
+                from = 0;
+                to = romaji.length();
+            }
+            if (solutions.contains(chars, text, from, to)) {
+                return Grade.CORRECT;
+            } else if (maxDistance > 0 && solutions.withinDistance(chars, text, from, to, maxDistance)) {
+                return Grade.NEAR_MISS;
+            }
+            return Grade.WRONG;
+        }
+
+        private boolean isBlank(CharSequence answer, int from, int to) {
+            return chars.reset(answer, from, to).next() == NormalizedChars.END;
+        }
+    }
+}
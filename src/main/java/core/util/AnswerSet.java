@@ -0,0 +1,123 @@
+package core.util;
+
+import java.util.List;
+
+/**
+ * Immutable open addressing hash set of normalized meanings.
+ * Lookups normalize the probed text on the fly, so checking an answer creates no objects.
+ * If typos are tolerated, every meaning also keeps the bitmasks for computing edit distances.
+ * A meaning starting with an infinitive marker ('to ' or 'zu ') keeps them for the bare verb as well,
+ * so a misspelled verb typed without the marker still counts as near miss.
+ */
+public final class AnswerSet {
+    private static final String[] INFINITIVE_MARKERS = {"to ", "zu "};
+
+    private final String[] table;
+    private final int[] hashes;
+    private final FuzzyPattern[] patterns; // null if typos are not tolerated, may contain nulls
+    private final int size;
+
+    private AnswerSet(String[] table, int[] hashes, FuzzyPattern[] patterns, int size) {
+        this.table = table;
+        this.hashes = hashes;
+        this.patterns = patterns;
+        this.size = size;
+    }
+
+    /**
+     * @param meanings meanings of one side of a vocabulary
+     * @return set of their normalized forms
+     */
+    public static AnswerSet of(List<String> meanings) {
+        return of(meanings, false);
+    }
+
+    /**
+     * @param meanings meanings of one side of a vocabulary
+     * @param fuzzy if true bitmasks for {@link #withinDistance} are precomputed
+     * @return set of their normalized forms
+     */
+    public static AnswerSet of(List<String> meanings, boolean fuzzy) {
+        int capacity = Integer.highestOneBit(Math.max(meanings.size(), 1) * 2 - 1) << 1;
+        String[] table = new String[capacity];
+        int[] hashes = new int[capacity];
+        int size = 0;
+        for (String meaning : meanings) {
+            String normalized = NormalizedChars.normalize(meaning);
+            int hash = normalized.hashCode();
+            int slot = hash & (capacity - 1);
+            while (table[slot] != null && !table[slot].equals(normalized)) {
+                slot = (slot + 1) & (capacity - 1);
+            }
+            if (table[slot] == null) {
+                table[slot] = normalized;
+                hashes[slot] = hash;
+                size++;
+            }
+        }
+        FuzzyPattern[] patterns = null;
+        if (fuzzy) {
+            patterns = new FuzzyPattern[capacity * 2];
+            for (int slot = 0; slot < capacity; slot++) {
+                if (table[slot] != null) {
+                    patterns[2 * slot] = FuzzyPattern.of(table[slot]);
+                    patterns[2 * slot + 1] = bareVerb(table[slot]);
+                }
+            }
+        }
+        return new AnswerSet(table, hashes, patterns, size);
+    }
+
+    /**
+     * @return pattern of the normalized meaning without its infinitive marker or null if it has none
+     */
+    private static FuzzyPattern bareVerb(String normalized) {
+        for (String marker : INFINITIVE_MARKERS) {
+            if (normalized.length() > marker.length() && normalized.startsWith(marker)) {
+                return FuzzyPattern.of(normalized.substring(marker.length()));
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Checks whether the window [from, to) of text is one of the meanings once it is normalized
+     * @param chars cursor used for normalizing, owned by the caller
+     */
+    public boolean contains(NormalizedChars chars, CharSequence text, int from, int to) {
+        int hash = chars.reset(text, from, to).hash();
+        int mask = table.length - 1;
+        for (int slot = hash & mask; table[slot] != null; slot = (slot + 1) & mask) {
+            if (hashes[slot] == hash && chars.reset(text, from, to).matches(table[slot])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks whether the window [from, to) of text is at most maxDistance edits away from one of the meanings.
+     * Short meanings allow fewer edits: at most one per three characters.
+     * Verbs are also compared without their leading 'to ' or 'zu '.
+     * @param chars cursor used for normalizing, owned by the caller
+     * @return false if no bitmasks were precomputed
+     */
+    public boolean withinDistance(NormalizedChars chars, CharSequence text, int from, int to, int maxDistance) {
+        if (patterns == null) {
+            return false;
+        }
+        for (FuzzyPattern pattern : patterns) {
+            if (pattern != null) {
+                int bound = Math.min(maxDistance, pattern.length() / 3);
+                if (bound > 0 && pattern.distance(chars.reset(text, from, to)) <= bound) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    public int size() {
+        return size;
+    }
+}
@@ -0,0 +1,75 @@
+package core.util;
+
+import java.util.Arrays;
+
+/**
+ * Precomputed bitmasks of a normalized solution for the bit-parallel Levenshtein distance by Myers and Hyyrö.
+ * Every character of the solution is one bit, so solutions may have at most 64 characters.
+ * Computing a distance creates no objects.
+ */
+final class FuzzyPattern {
+    static final int MAX_LENGTH = Long.SIZE;
+
+    // distinct characters of the solution, sorted, and for each of them the positions it occurs at
+    private final char[] chars;
+    private final long[] masks;
+    private final int length;
+
+    private FuzzyPattern(char[] chars, long[] masks, int length) {
+        this.chars = chars;
+        this.masks = masks;
+        this.length = length;
+    }
+
+    /**
+     * @param normalized normalized solution
+     * @return pattern or null if the solution is too long
+     */
+    static FuzzyPattern of(String normalized) {
+        if (normalized.isEmpty() || normalized.length() > MAX_LENGTH) {
+            return null;
+        }
+        char[] chars = normalized.chars().distinct().sorted().collect(
+                StringBuilder::new, StringBuilder::appendCodePoint, StringBuilder::append).toString().toCharArray();
+        long[] masks = new long[chars.length];
+        for (int i = 0; i < normalized.length(); i++) {
+            masks[Arrays.binarySearch(chars, normalized.charAt(i))] |= 1L << i;
+        }
+        return new FuzzyPattern(chars, masks, normalized.length());
+    }
+
+    int length() {
+        return length;
+    }
+
+    /**
+     * Computes the edit distance between the solution and the rest of the text of the cursor
+     * @param text cursor positioned at the start of the typed meaning
+     * @return number of insertions, deletions and substitutions needed
+     */
+    int distance(NormalizedChars text) {
+        long last = 1L << (length - 1);
+        long pv = length == MAX_LENGTH ? -1L : (1L << length) - 1;
+        long mv = 0;
+        int score = length;
+        for (int c = text.next(); c != NormalizedChars.END; c = text.next()) {
+            int index = Arrays.binarySearch(chars, (char) c);
+            long eq = index < 0 ? 0 : masks[index];
+            long xv = eq | mv;
+            long xh = (((eq & pv) + pv) ^ pv) | eq;
+            long ph = mv | ~(xh | pv);
+            long mh = pv & xh;
+            if ((ph & last) != 0) {
+                score++;
+            } else if ((mh & last) != 0) {
+                score--;
+            }
+            // the first row of the distance matrix grows by one per character
+            ph = (ph << 1) | 1;
+            mh <<= 1;
+            pv = mh | ~(xv | ph);
+            mv = ph & xv;
+        }
+        return score;
+    }
+}
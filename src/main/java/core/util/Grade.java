@@ -0,0 +1,11 @@
+package core.util;
+
+/**
+ * Outcome of grading an answer
+ */
+public enum Grade {
+    CORRECT,
+    // every typed meaning is a solution, but at least one only with a small typo
+    NEAR_MISS,
+    WRONG
+}
@@ -0,0 +1,283 @@
+package core.util;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * Romaji and kana tables and the transliterators compiled from them.
+ * The vocabularies are written in the trainer's own romaji: Hepburn syllables, long vowels written twice ('kooen'),
+ * 'wo' and 'wa' for the particles, 'n' before b, p and m ('shinbun'), "n'" before vowels and y ('kin'en')
+ * and 'cch' before 'chi' ('suicchi'). {@link #TO_ROMAJI} turns hiragana, katakana, Kunrei or Nihon-shiki romaji
+ * and Hepburn with macrons or 'm' before b, p and m into that spelling, so all of them can be compared.
+ * 'ou' stays apart from 'oo' ('omou' is no 'omoo'), {@link #TO_HIRAGANA} writes a long o as おう ('kyoodai' is きょうだい).
+ */
+public final class Kana {
+    private static final Logger logger = Logger.getLogger("Kana");
+    public static final String KANA_PROPERTY = "vocabtrainer.kana";
+    private static final char LONG_VOWEL = 'ー';
+    private static final char SMALL_TSU = 'っ';
+    // katakana are the hiragana shifted by this offset
+    private static final int KATAKANA_OFFSET = 'ア' - 'あ';
+    private static final String MACRONS = "āīūēō";
+    private static final String CIRCUMFLEXES = "âîûêô";
+    private static final String VOWELS = "aiueo";
+
+    /**
+     * hiragana, Hepburn romaji and the spellings of Kunrei and Nihon-shiki that differ from it
+     */
+    private static final String[][] SYLLABLES = {
+            {"あ", "a"}, {"い", "i"}, {"う", "u"}, {"え", "e"}, {"お", "o"},
+            {"か", "ka"}, {"き", "ki"}, {"く", "ku"}, {"け", "ke"}, {"こ", "ko"},
+            {"さ", "sa"}, {"し", "shi", "si"}, {"す", "su"}, {"せ", "se"}, {"そ", "so"},
+            {"た", "ta"}, {"ち", "chi", "ti"}, {"つ", "tsu", "tu"}, {"て", "te"}, {"と", "to"},
+            {"な", "na"}, {"に", "ni"}, {"ぬ", "nu"}, {"ね", "ne"}, {"の", "no"},
+            {"は", "ha"}, {"ひ", "hi"}, {"ふ", "fu", "hu"}, {"へ", "he"}, {"ほ", "ho"},
+            {"ま", "ma"}, {"み", "mi"}, {"む", "mu"}, {"め", "me"}, {"も", "mo"},
+            {"や", "ya"}, {"ゆ", "yu"}, {"よ", "yo"},
+            {"ら", "ra"}, {"り", "ri"}, {"る", "ru"}, {"れ", "re"}, {"ろ", "ro"},
+            {"わ", "wa"}, {"を", "wo"},
+            {"が", "ga"}, {"ぎ", "gi"}, {"ぐ", "gu"}, {"げ", "ge"}, {"ご", "go"},
+            {"ざ", "za"}, {"じ", "ji", "zi"}, {"ず", "zu"}, {"ぜ", "ze"}, {"ぞ", "zo"},
+            {"だ", "da"}, {"ぢ", "ji", "di"}, {"づ", "zu", "du"}, {"で", "de"}, {"ど", "do"},
+            {"ば", "ba"}, {"び", "bi"}, {"ぶ", "bu"}, {"べ", "be"}, {"ぼ", "bo"},
+            {"ぱ", "pa"}, {"ぴ", "pi"}, {"ぷ", "pu"}, {"ぺ", "pe"}, {"ぽ", "po"},
+            {"きゃ", "kya"}, {"きゅ", "kyu"}, {"きょ", "kyo"},
+            {"しゃ", "sha", "sya"}, {"しゅ", "shu", "syu"}, {"しょ", "sho", "syo"},
+            {"ちゃ", "cha", "tya"}, {"ちゅ", "chu", "tyu"}, {"ちょ", "cho", "tyo"},
+            {"にゃ", "nya"}, {"にゅ", "nyu"}, {"にょ", "nyo"},
+            {"ひゃ", "hya"}, {"ひゅ", "hyu"}, {"ひょ", "hyo"},
+            {"みゃ", "mya"}, {"みゅ", "myu"}, {"みょ", "myo"},
+            {"りゃ", "rya"}, {"りゅ", "ryu"}, {"りょ", "ryo"},
+            {"ぎゃ", "gya"}, {"ぎゅ", "gyu"}, {"ぎょ", "gyo"},
+            {"じゃ", "ja", "zya", "jya"}, {"じゅ", "ju", "zyu", "jyu"}, {"じょ", "jo", "zyo", "jyo"},
+            {"ぢゃ", "ja", "dya"}, {"ぢゅ", "ju", "dyu"}, {"ぢょ", "jo", "dyo"},
+            {"びゃ", "bya"}, {"びゅ", "byu"}, {"びょ", "byo"},
+            {"ぴゃ", "pya"}, {"ぴゅ", "pyu"}, {"ぴょ", "pyo"},
+            // loanwords
+            {"ふぁ", "fa"}, {"ふぃ", "fi"}, {"ふぇ", "fe"}, {"ふぉ", "fo"},
+            {"しぇ", "she"}, {"ちぇ", "che"}, {"じぇ", "je"}, {"うぃ", "wi"}, {"うぇ", "we"},
+            {"ぁ", "a"}, {"ぃ", "i"}, {"ぅ", "u"}, {"ぇ", "e"}, {"ぉ", "o"},
+    };
+    private static final String[] SYLLABIC_N = {"ん", "n", "n'"};
+    /**
+     * words with the particle は, written as it is pronounced
+     */
+    private static final String[][] WA_WORDS = {{"は", "wa"}, {"こんにちは", "konnichiwa"}, {"こんばんは", "konbanwa"}};
+    /**
+     * words with a long o written おお instead of おう
+     */
+    private static final String[][] OO_WORDS = {
+            {"おおき", "ooki"}, {"おおい", "ooi"}, {"おおさか", "oosaka"}, {"おおぜい", "oozei"},
+            {"とおい", "tooi"}, {"とおか", "tooka"}, {"とおり", "toori"}, {"こおり", "koori"},
+    };
+
+    /**
+     * kana and any romaji to the romaji of the vocabularies
+     */
+    public static final Transliterator TO_ROMAJI = Transliterator.compile(romajiRules(), romajiWords());
+    /**
+     * romaji to hiragana
+     */
+    public static final Transliterator TO_HIRAGANA = Transliterator.compile(kanaRules(false), kanaWords(false));
+    /**
+     * romaji to katakana, doubled vowels become ー
+     */
+    public static final Transliterator TO_KATAKANA = Transliterator.compile(kanaRules(true), kanaWords(true));
+
+    private Kana() {}
+
+    /**
+     * @return transliterator that shows japanese prompts in the script of the system property 'vocabtrainer.kana'
+     * ('hiragana' or 'katakana'), null if prompts stay in romaji
+     */
+    public static Transliterator promptScript() {
+        String script = System.getProperty(KANA_PROPERTY);
+        if (script == null || script.equals("romaji")) {
+            return null;
+        }
+        return switch (script) {
+            case "hiragana" -> TO_HIRAGANA;
+            case "katakana" -> TO_KATAKANA;
+            default -> {
+                logger.warning("Unknown script '%s', prompts are shown in romaji".formatted(script));
+                yield null;
+            }
+        };
+    }
+
+    /**
+     * @return the meanings written in the script
+     */
+    public static List<String> render(Transliterator script, List<String> meanings) {
+        return meanings.stream().map(script::apply).toList();
+    }
+
+    private static Map<String, String> romajiRules() {
+        Map<String, String> rules = new LinkedHashMap<>();
+        for (String[] syllable : SYLLABLES) {
+            String kana = syllable[0];
+            String romaji = syllable[1];
+            for (int i = 1; i < syllable.length; i++) {
+                addRomajiSpelling(rules, syllable[i], romaji);
+            }
+            for (boolean katakana : new boolean[]{false, true}) {
+                String script = katakana ? katakana(kana) : kana;
+                rules.put(script, romaji);
+                rules.put(script + LONG_VOWEL, romaji + last(romaji));
+                rules.put((katakana ? katakana(SMALL_TSU) : SMALL_TSU) + script, geminate(romaji));
+            }
+        }
+        for (String n : SYLLABIC_N) {
+            rules.put(n, "n");
+            rules.put(katakana(n), "n");
+        }
+        new LinkedHashMap<>(rules).forEach((from, to) -> {
+            if (to.charAt(0) == 'y' || VOWELS.indexOf(to.charAt(0)) >= 0) {
+                // 'kin'en' is no 'kinen'
+                rules.put(syllabicN(from.charAt(0)) + from, "n'" + to);
+            }
+            if (isRomaji(from.charAt(0)) && "bpm".indexOf(from.charAt(0)) >= 0) {
+                // 'shimbun'
+                rules.put('m' + from, 'n' + to);
+            }
+        });
+        return rules;
+    }
+
+    private static Map<String, String> romajiWords() {
+        Map<String, String> words = new LinkedHashMap<>();
+        for (String[] word : WA_WORDS) {
+            words.put(word[0], word[1]);
+            words.put(katakana(word[0]), word[1]);
+        }
+        return words;
+    }
+
+    /**
+     * Adds a romaji spelling of a syllable with its long and doubled forms
+     */
+    private static void addRomajiSpelling(Map<String, String> rules, String spelling, String romaji) {
+        rules.put(spelling, romaji);
+        int vowel = VOWELS.indexOf(last(spelling));
+        String stem = spelling.substring(0, spelling.length() - 1);
+        rules.put(stem + MACRONS.charAt(vowel), romaji + last(romaji));
+        rules.put(stem + CIRCUMFLEXES.charAt(vowel), romaji + last(romaji));
+        if (isGeminable(spelling)) {
+            // 'kitte', 'matti' or 'matchi'
+            rules.put(spelling.startsWith("ch") ? "t" + spelling : spelling.charAt(0) + spelling, geminate(romaji));
+        }
+    }
+
+    private static Map<String, String> kanaRules(boolean katakana) {
+        Map<String, String> rules = new LinkedHashMap<>();
+        String tsu = String.valueOf(katakana ? katakana(SMALL_TSU) : SMALL_TSU);
+        // backwards so the first kana of a spelling wins, e.g. じ over ぢ for 'ji'
+        for (int i = SYLLABLES.length - 1; i >= 0; i--) {
+            String[] syllable = SYLLABLES[i];
+            if (isSmall(syllable[0])) {
+                continue;
+            }
+            String kana = katakana ? katakana(syllable[0]) : syllable[0];
+            for (int j = 1; j < syllable.length; j++) {
+                String spelling = syllable[j];
+                addKanaSpelling(rules, spelling, kana, katakana);
+                if (isGeminable(spelling)) {
+                    addKanaSpelling(rules, spelling.charAt(0) + spelling, tsu + kana, katakana);
+                    if (spelling.startsWith("ch")) {
+                        addKanaSpelling(rules, "t" + spelling, tsu + kana, katakana);
+                    }
+                }
+            }
+        }
+        String n = katakana ? katakana(SYLLABIC_N[0]) : SYLLABIC_N[0];
+        for (int i = 1; i < SYLLABIC_N.length; i++) {
+            rules.put(SYLLABIC_N[i], n);
+        }
+        for (String[] syllable : SYLLABLES) {
+            for (int j = 1; j < syllable.length; j++) {
+                if ("bpm".indexOf(syllable[j].charAt(0)) >= 0) {
+                    // 'shimbun', also replaces the small tsu of 'mm'
+                    rules.put('m' + syllable[j], n + (katakana ? katakana(syllable[0]) : syllable[0]));
+                }
+            }
+        }
+        if (!katakana) {
+            for (String[] word : OO_WORDS) {
+                rules.put(word[1], word[0]);
+            }
+        }
+        rules.put("-", ""); // 'hito-tsu'
+        return rules;
+    }
+
+    /**
+     * Adds a romaji spelling of a kana with its long form. In hiragana a long o is written おう, in katakana
+     * every long vowel is written ー
+     */
+    private static void addKanaSpelling(Map<String, String> rules, String spelling, String kana, boolean katakana) {
+        rules.put(spelling, kana);
+        if (katakana) {
+            rules.put(spelling + last(spelling), kana + LONG_VOWEL);
+        } else if (last(spelling) == 'o') {
+            rules.put(spelling + 'o', kana + 'う');
+        }
+    }
+
+    private static Map<String, String> kanaWords(boolean katakana) {
+        Map<String, String> words = new LinkedHashMap<>();
+        for (String[] word : WA_WORDS) {
+            words.put(word[1], katakana ? katakana(word[0]) : word[0]);
+        }
+        return words;
+    }
+
+    /**
+     * @return romaji of the syllable after a small tsu, e.g. 'tte' or 'cchi'
+     */
+    private static String geminate(String romaji) {
+        return VOWELS.indexOf(romaji.charAt(0)) >= 0 ? romaji : romaji.charAt(0) + romaji;
+    }
+
+    /**
+     * @return true if a small tsu can double the first consonant of the spelling. 'nn' is the syllabic n instead
+     */
+    private static boolean isGeminable(String spelling) {
+        return VOWELS.indexOf(spelling.charAt(0)) < 0 && spelling.charAt(0) != 'n';
+    }
+
+    /**
+     * @return the syllabic n in the script of the character
+     */
+    private static String syllabicN(char c) {
+        if (c >= 'ァ' && c <= 'ヶ') {
+            return katakana(SYLLABIC_N[0]);
+        }
+        return isRomaji(c) ? SYLLABIC_N[2] : SYLLABIC_N[0];
+    }
+
+    private static boolean isRomaji(char c) {
+        return c < 'ぁ' || c > 'ヶ';
+    }
+
+    private static boolean isSmall(String kana) {
+        return "ぁぃぅぇぉ".indexOf(kana.charAt(0)) >= 0;
+    }
+
+    private static char last(String s) {
+        return s.charAt(s.length() - 1);
+    }
+
+    private static String katakana(String hiragana) {
+        StringBuilder sb = new StringBuilder(hiragana.length());
+        for (int i = 0; i < hiragana.length(); i++) {
+            sb.append(katakana(hiragana.charAt(i)));
+        }
+        return sb.toString();
+    }
+
+    private static char katakana(char hiragana) {
+        return hiragana >= 'ぁ' && hiragana <= 'ゖ' ? (char) (hiragana + KATAKANA_OFFSET) : hiragana;
+    }
+}
@@ -0,0 +1,100 @@
+package core.util;
+
+/**
+ * Cursor that yields the normalized characters of a text window one at a time without creating Strings.
+ * Normalization lowercases, writes umlauts and ß as ae, oe, ue and ss, drops hyphens,
+ * collapses whitespace to one space and trims the window.
+ * A cursor is reusable but must not be shared between threads.
+ */
+public final class NormalizedChars {
+    public static final int END = -1;
+
+    private CharSequence text;
+    private int position;
+    private int to;
+    private char pending;
+    private boolean spacePending;
+    private boolean started;
+
+    /**
+     * Normalizes a whole String at once
+     * @return the normalized text
+     */
+    public static String normalize(CharSequence text) {
+        NormalizedChars chars = new NormalizedChars().reset(text, 0, text.length());
+        StringBuilder sb = new StringBuilder(text.length());
+        for (int c = chars.next(); c != END; c = chars.next()) {
+            sb.append((char) c);
+        }
+        return sb.toString();
+    }
+
+    /**
+     * Positions the cursor at the start of the window [from, to) of text
+     */
+    public NormalizedChars reset(CharSequence text, int from, int to) {
+        this.text = text;
+        this.position = from;
+        this.to = to;
+        this.pending = 0;
+        this.spacePending = false;
+        this.started = false;
+        return this;
+    }
+
+    /**
+     * @return the next normalized character or END
+     */
+    public int next() {
+        if (pending != 0) {
+            char c = pending;
+            pending = 0;
+            return c;
+        }
+        while (position < to) {
+            char c = text.charAt(position++);
+            if (Character.isWhitespace(c)) {
+                spacePending = started;
+            } else if (c != '-') {
+                if (spacePending) {
+                    spacePending = false;
+                    position--; // emit the space first, this char comes next
+                    return ' ';
+                }
+                started = true;
+                c = Character.toLowerCase(c);
+                switch (c) {
+                    case 'ä' -> { pending = 'e'; return 'a'; }
+                    case 'ö' -> { pending = 'e'; return 'o'; }
+                    case 'ü' -> { pending = 'e'; return 'u'; }
+                    case 'ß' -> { pending = 's'; return 's'; }
+                    default -> { return c; }
+                }
+            }
+        }
+        return END;
+    }
+
+    /**
+     * Hashes the normalized window. The result equals {@link String#hashCode()} of the normalized String.
+     */
+    public int hash() {
+        int hash = 0;
+        for (int c = next(); c != END; c = next()) {
+            hash = 31 * hash + c;
+        }
+        return hash;
+    }
+
+    /**
+     * Compares the rest of the normalized window with an already normalized String
+     */
+    public boolean matches(String normalized) {
+        for (int i = 0; i < normalized.length(); i++) {
+            if (next() != normalized.charAt(i)) {
+                return false;
+            }
+        }
+        return next() == END;
+    }
+}
@@ -1,14 +1,18 @@
 package core.util;
 
+import core.monitoring.Metrics;
+import core.monitoring.QuestionEvent;
+import core.progress.Progress;
+import core.progress.ProgressStore;
 import lombok.experimental.UtilityClass;
+import model.Questionnaire;
+import model.Side;
 import model.Vocabulary;
 
-import java.io.BufferedReader;
-import java.io.BufferedWriter;
 import java.io.IOException;
+import java.util.HashMap;
 import java.util.List;
-
-import static core.util.ReaderWriterUtility.*;
+import java.util.Map;
 
 @UtilityClass
 public class QuestionEvaluator {
@@ -19,86 +23,117 @@ public class QuestionEvaluator {
                 If it shows a Japanese word you need to answer with the corresponding English or German word.\r
                 Otherwise, answer with the corresponding Japanese word.\r
                 Typing one of the possible solutions is sufficient. However, you can type multiple.
-                They need to be separated by a comma and a space. 'a, b' is valid 'a b' or 'a,b' are not\r
+                They need to be separated by a comma or a semicolon. 'a, b', 'a,b' and 'a; b' are valid 'a b' is not\r
+                Case, umlauts (ä or ae) and hyphens don't matter.\r
+                Japanese words may be typed in romaji (Hepburn or Kunrei), hiragana or katakana.\r
                 You can exit by typing '$exit'.\r
             
             """;
 
     /**
      * Processes the questioning. Determines how many rounds are done and questions the user.
-     * @param vocabularies List of vocabularies to question from
-     * @param info Help given for the user
+     * @param questionnaire vocabularies to question from and the help given for the user
+     * @param learner name the progress of this session is recorded for
      */
-    public static void eval(BufferedReader br, BufferedWriter bw, List<Vocabulary> vocabularies, String info) throws IOException {
+    public static void eval(SessionIO io, Questionnaire questionnaire, String learner) throws IOException {
+        List<Vocabulary> vocabularies = questionnaire.getVocabularies();
         if (!vocabularies.isEmpty()){
-            writeAndFlush(bw, "Please define how many rounds you want to do. Must be a single number.\r\n");
-            int limiter = getRounds(br, bw,vocabularies.size());
+            io.write("Please define how many rounds you want to do. Must be a single number.\r\n");
+            int limiter = getRounds(io, vocabularies.size());
             if (limiter == -1){ //exit command was triggered
                 return;
             }
-            questionnaire(br, bw, vocabularies, limiter, info);
+            questionnaire(io, questionnaire, learner, limiter);
         }
     }
 
     /**
      * Process of questioning the user with vocabulary.
-     * @param vocabularies List from which the questions will be drawn.
+     * @param questionnaire vocabularies from which the questions will be drawn.
+     * @param learner name the progress is recorded for
      * @param limiter Max amount of questions
      */
-    private static void questionnaire(BufferedReader br, BufferedWriter bw, List<Vocabulary> vocabularies, int limiter, String info) throws IOException {
-        bw.write(
+    private static void questionnaire(SessionIO io, Questionnaire questionnaire, String learner, int limiter) throws IOException {
+        List<Vocabulary> vocabularies = questionnaire.getVocabularies();
+        AnswerIndex.Grader grader = AnswerIndex.of(questionnaire).grader();
+        io.write(
                 "The list of vocabularies contains %s vocabularies.%nPlaying for %s rounds! %n%n"
                         .formatted(vocabularies.size(), limiter)
         );
-        writeAndFlush(bw, PROCEED_TO_QUESTIONNAIRE);
-        writeAndFlush(bw, "You can type '$help' to get additional info.\r\n\n");
+        io.write(PROCEED_TO_QUESTIONNAIRE);
+        io.write("You can type '$help' to get additional info.\r\n\n");
+        ProgressStore progress = ProgressStore.configured();
+        Map<Long, Progress> history = progress != null ? progress.of(learner) : Map.of();
+        QuestionOrder order = QuestionOrder.create(vocabularies.size(),
+                i -> history.getOrDefault(ProgressStore.key(vocabularies.get(i)), Progress.NONE));
+        boolean notSavedShown = false; // a failed save is only reported once per session
+        Metrics metrics = Metrics.get();
+        Map<String, Metrics.DeckOutcomes> outcomes = new HashMap<>(); // by deck, looked up once per session
+        Transliterator script = Kana.promptScript();
         int correct = 0;
         int loopCounter = 0;
-        List<String> solution;
-        Vocabulary vocabulary;
         do {
-            writeAndFlush(bw, "Next vocabulary:\r\n");
-            vocabulary = randomSelectVocabularyFrom(vocabularies);
-            solution = getSolution(bw, vocabulary);
-            // norm the list. Everything is lowercase
-            solution = solution.stream().map(String::toLowerCase).toList();
+            QuestionEvent event = new QuestionEvent();
+            event.start();
+            io.write("Next vocabulary:\r\n");
+            int vocabulary = order.next();
+            Side solution = order.solution();
+            metrics.questionServed();
+            List<String> prompt = solution.other().of(vocabularies.get(vocabulary));
+            io.writeWait((script != null && solution.other() == Side.JAPANESE ? Kana.render(script, prompt) : prompt).toString());
+            event.rendered();
             // process user input
-            int answer = processQuestionsAnswer(br, bw, solution, info);
-            if (answer == -1){
+            Grade grade = processQuestionsAnswer(io, grader, vocabulary, solution, questionnaire.getInfoText(), event);
+            if (grade == null){
                 return;
-            }else {
-                correct += answer;
+            }else if (grade != Grade.WRONG){
+                correct++;
+            }
+            String deck = questionnaire.deckOf(vocabulary);
+            outcomes.computeIfAbsent(deck != null ? deck : Metrics.OTHER_DECK, metrics::deck).record(grade);
+            event.commit(vocabulary, solution.name(), grade.name());
+            order.graded(vocabulary, grade);
+            if (progress != null && !progress.record(learner, ProgressStore.key(vocabularies.get(vocabulary)), grade) && !notSavedShown){
+                notSavedShown = true;
+                io.write("Your progress couldn't be saved. It is tried again with the next answer.\r\n");
             }
-            writeAndFlush(bw, "The solution was %s%n".formatted(solution));
-            writeAndFlush(bw, "------------------------------------\r\n\n");
+            io.write("The solution was %s%n".formatted(solution.of(vocabularies.get(vocabulary))));
+            io.write("------------------------------------\r\n\n");
             loopCounter++;
         }while (loopCounter < limiter);
-        writeAndFlush(bw, "You got %s out of %s right. That's %s percent! %n%n".formatted(correct, limiter, (float) correct/limiter*100));
+        io.write("You got %s out of %s right. That's %s percent! %n%n".formatted(correct, limiter, (float) correct/limiter*100));
     }
 
     /**
      * Processes the input of the user after being asked a vocabulary question. If they type $exit the mode will be left.
      * If they type $help they will get the info string displayed. Otherwise, their input will be checked for correctness.
-     * @param solution Valid solutions for a word
+     * @param vocabulary position of the questioned vocabulary in the deck
+     * @param solution side of the vocabulary that holds the valid solutions
      * @param info info string displayed after typing the $help
-     * @return -1 if exit was read, 1 if answer correct, 0 if answer incorrect.
+     * @param event times reading and grading the answer
+     * @return null if exit was read, else the grade of the answer
      */
-    private static int processQuestionsAnswer(BufferedReader br, BufferedWriter bw, List<String> solution, String info) throws IOException {
-        String[] in = formattedRead(br, ", ");
+    private static Grade processQuestionsAnswer(SessionIO io, AnswerIndex.Grader grader, int vocabulary, Side solution, String info, QuestionEvent event) throws IOException {
+        String in = io.readLine().trim();
+        event.answered();
         //check for commands
-        if (in[0].equals("$exit")){
-            return -1;
-        }else if (in[0].equals("$help") && info != null){
-            writeAndFlush(bw, info);
-            return processQuestionsAnswer(br, bw, solution, info); // read new answer
+        if (in.equals("$exit")){
+            return null;
+        }else if (in.equals("$help") && info != null){
+            io.write(info);
+            return processQuestionsAnswer(io, grader, vocabulary, solution, info, event); // read new answer
         }
-        if (solutionIsCorrect(solution, in)){ //--- check correctness of solutions ---
-            writeAndFlush(bw, "Correct!\r\n");
-            return 1;
-        }else {
-            writeAndFlush(bw, "Incorrect!\r\n");
-            return 0;
+        //--- check correctness of solutions ---
+        long start = System.nanoTime();
+        Grade grade = grader.grade(vocabulary, solution, in);
+        Metrics.get().gradingLatency(System.nanoTime() - start);
+        event.graded();
+        switch (grade){
+            case CORRECT -> io.write("Correct!\r\n");
+            case NEAR_MISS -> io.write("Correct, but watch the spelling!\r\n");
+            case WRONG -> io.write("Incorrect!\r\n");
         }
+        return grade;
     }
 
     /**
@@ -106,8 +141,8 @@ public class QuestionEvaluator {
      * @param pDefault default value for number of rounds
      * @return -1 if exit was read else number of rounds
      */
-    private static int getRounds(BufferedReader br, BufferedWriter bw, int pDefault) throws IOException {
-        String str = readLine(br);
+    private static int getRounds(SessionIO io, int pDefault) throws IOException {
+        String str = io.readLine();
         if (str.isEmpty()){
             return pDefault;
         }else if (str.equals("$exit")){
@@ -117,54 +152,9 @@ public class QuestionEvaluator {
             try {
                 return Integer.parseInt(str);
             } catch (NumberFormatException e) {
-                writeAndFlush(bw, "Invalid value for '%s'.%nWrite the number again!%n".formatted(str));
-                return getRounds(br, bw, pDefault);
-            }
-        }
-    }
-
-    /**
-     * Randomly selects a Vocabulary from the given Map.
-     * @param vocab Map of Vocabulary
-     * @return Vocabulary
-     */
-    private static Vocabulary randomSelectVocabularyFrom(List<Vocabulary> vocab){
-        int selector = (int)(Math.random()*vocab.size());
-        return vocab.get(selector);
-    }
-
-    /**
-     * Matches a given array against a list of strings.
-     * @param solution List of solutions
-     * @param in array of strings that will be checked
-     * @return If all values in the array are represented in the list return true else false
-     */
-    private static boolean solutionIsCorrect(List<String> solution, String[] in) {
-        for (String s : in) {
-            if (!solution.contains(s)) {
-                return false;
+                io.write("Invalid value for '%s'.%nWrite the number again!%n".formatted(str));
+                return getRounds(io, pDefault);
             }
         }
-        return true;
-    }
-
-    /**
-     * randomly selects which meanings the user will have to guess (japanese or english/german)
-     * @param vocabulary Vocabulary which will be questioned
-     * @return The solutions of a vocabulary
-     */
-    private static List<String> getSolution(BufferedWriter bw, Vocabulary vocabulary) throws IOException {
-        String message;
-        List<String> solution;
-        // randomly choose english/german or japanese word to question
-        if ((int)(Math.random()*2)== 1){
-            message = vocabulary.getJapanese().toString();
-            solution = vocabulary.getEnglishGerman();
-        }else {
-            message = vocabulary.getEnglishGerman().toString();
-            solution = vocabulary.getJapanese();
-        }
-        writeFlushWait(bw, message);
-        return solution;
     }
 }
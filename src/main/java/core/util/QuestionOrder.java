@@ -0,0 +1,82 @@
+package core.util;
+
+import core.progress.Progress;
+import model.Side;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.IntFunction;
+
+/**
+ * Decides which vocabulary of a deck is questioned next and in which direction.
+ * The order is chosen with the system property 'vocabtrainer.order': 'shuffled' (default), 'random' or 'sm2' for spaced repetition.
+ * Every order draws from its own generator. With the system property 'vocabtrainer.seed' the questions are reproducible.
+ */
+public interface QuestionOrder {
+    String ORDER_PROPERTY = "vocabtrainer.order";
+    String SEED_PROPERTY = "vocabtrainer.seed";
+
+    /**
+     * @return position of the next vocabulary to question
+     */
+    int next();
+
+    /**
+     * @return side of the vocabulary returned by the last call of next that holds the solutions
+     */
+    Side solution();
+
+    /**
+     * Reports how the vocabulary returned by the last call of next was answered
+     */
+    default void graded(int vocabulary, Grade grade) {}
+
+    /**
+     * @return true if the next question depends on the grades reported so far, so the questions can't be planned ahead
+     */
+    default boolean dependsOnGrades() {
+        return false;
+    }
+
+    /**
+     * Creates the configured order for a deck with the configured seed or a random one
+     * @param size number of vocabularies in the deck
+     */
+    static QuestionOrder create(int size) {
+        return create(size, vocabulary -> Progress.NONE);
+    }
+
+    /**
+     * Creates the configured order for a deck with the configured seed or a random one
+     * @param size number of vocabularies in the deck
+     * @param history progress of earlier sessions for the vocabulary at a position, only spaced repetition uses it
+     */
+    static QuestionOrder create(int size, IntFunction<Progress> history) {
+        Long seed = Long.getLong(SEED_PROPERTY);
+        return create(size, seed != null ? seed : ThreadLocalRandom.current().nextLong(), history);
+    }
+
+    /**
+     * Creates the configured order for a deck
+     * @param size number of vocabularies in the deck
+     * @param seed the same seed yields the same questions
+     */
+    static QuestionOrder create(int size, long seed) {
+        return create(size, seed, vocabulary -> Progress.NONE);
+    }
+
+    /**
+     * Creates the configured order for a deck
+     * @param size number of vocabularies in the deck
+     * @param seed the same seed yields the same questions
+     * @param history progress of earlier sessions for the vocabulary at a position, only spaced repetition uses it
+     */
+    static QuestionOrder create(int size, long seed, IntFunction<Progress> history) {
+        SplittableRandom random = new SplittableRandom(seed);
+        return switch (System.getProperty(ORDER_PROPERTY, "shuffled")) {
+            case "sm2" -> new SpacedRepetitionScheduler(size, random, history);
+            case "random" -> new RandomQuestionOrder(size, random);
+            default -> new ShuffledQuestionOrder(size, random);
+        };
+    }
+}
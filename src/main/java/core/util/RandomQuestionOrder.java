@@ -0,0 +1,30 @@
+package core.util;
+
+import model.Side;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Uniformly random selection, a vocabulary can be questioned several times in a row
+ */
+public class RandomQuestionOrder implements QuestionOrder {
+    private final int size;
+    private final RandomGenerator random;
+    private Side solution;
+
+    public RandomQuestionOrder(int size, RandomGenerator random) {
+        this.size = size;
+        this.random = random;
+    }
+
+    @Override
+    public int next() {
+        solution = random.nextBoolean() ? Side.ENGLISH_GERMAN : Side.JAPANESE;
+        return random.nextInt(size);
+    }
+
+    @Override
+    public Side solution() {
+        return solution;
+    }
+}
@@ -0,0 +1,169 @@
+package core.util;
+
+import java.io.*;
+import java.net.StandardSocketOptions;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.SocketChannel;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.*;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Input and output of one learner. Every session owns its own instance, so sessions never wait for each other.
+ * Output is collected and only written when the session is about to wait for input.
+ * That is one write to the channel, i.e. one syscall or packet, per question instead of one per message.
+ * An instance must only be used by the thread that runs its session.
+ */
+public class SessionIO implements Closeable {
+    private static final String WAITING_FOR_INPUT = "\r\nWaiting for input...\r\n";
+    private static final String EXIT = "$exit";
+    private static final int BUFFER_SIZE = 16 * 1024;
+
+    private final BufferedReader reader;
+    private final WritableByteChannel out;
+    private final CharsetEncoder encoder;
+    private final StringBuilder pending = new StringBuilder();
+    private final ByteBuffer bytes = ByteBuffer.allocate(BUFFER_SIZE);
+    // false for the console, closing the session must not close stdin and stdout of the process
+    private final boolean ownsStreams;
+    private boolean endOfInput = false;
+
+    /**
+     * @param reader input of the learner, closed with the session
+     * @param out output to the learner, written to directly and closed with the session
+     * @param charset encoding of the output
+     */
+    public SessionIO(BufferedReader reader, WritableByteChannel out, Charset charset) {
+        this(reader, out, charset, true);
+    }
+
+    private SessionIO(BufferedReader reader, WritableByteChannel out, Charset charset, boolean ownsStreams) {
+        this.reader = reader;
+        this.out = out;
+        this.ownsStreams = ownsStreams;
+        this.encoder = charset.newEncoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+    }
+
+    /**
+     * @return session on the console of this process. Output goes straight to the file descriptor of stdout.
+     * Closing the session only flushes it, stdin and stdout stay open.
+     */
+    public static SessionIO console() {
+        return new SessionIO(
+                new BufferedReader(new InputStreamReader(System.in)),
+                new FileOutputStream(FileDescriptor.out).getChannel(),
+                System.out.charset(),
+                false
+        );
+    }
+
+    /**
+     * @return session that talks UTF-8 over the blocking socket channel
+     */
+    public static SessionIO of(SocketChannel channel) throws IOException {
+        // output is already coalesced, so waiting for more data to fill a packet would only add latency
+        channel.setOption(StandardSocketOptions.TCP_NODELAY, true);
+        return new SessionIO(
+                new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), StandardCharsets.UTF_8)),
+                channel,
+                StandardCharsets.UTF_8
+        );
+    }
+
+    /**
+     * Reads a full line and makes it lowercase. Pending output is written first.
+     * When the input has ended '$exit' is returned, so every dialog is left the regular way.
+     * @return lowercase String
+     */
+    public String readLine() throws IOException {
+        flush();
+        String line = endOfInput ? null : reader.readLine();
+        if (line == null) {
+            endOfInput = true;
+            return EXIT;
+        }
+        return line.toLowerCase();
+    }
+
+    /**
+     * Reads a lowercase line and splits it at the separator by a single scan, without a regular expression.
+     * Runs of separators count as one and leading or trailing ones are ignored.
+     * @param separator character between the tokens
+     * @return the tokens, a single empty String if the line holds none
+     */
+    public String[] formattedRead(char separator) throws IOException {
+        String line = readLine();
+        List<String> tokens = new ArrayList<>();
+        int from = 0;
+        for (int i = 0; i <= line.length(); i++) {
+            if (i == line.length() || line.charAt(i) == separator) {
+                if (i > from) {
+                    tokens.add(line.substring(from, i));
+                }
+                from = i + 1;
+            }
+        }
+        return tokens.isEmpty() ? new String[]{""} : tokens.toArray(String[]::new);
+    }
+
+    /**
+     * Queues output. It is written with the next read or flush.
+     */
+    public void write(String s) {
+        pending.append(s);
+    }
+
+    /**
+     * Queues output followed by the hint that input is expected
+     */
+    public void writeWait(String s) {
+        write(s);
+        write(WAITING_FOR_INPUT);
+    }
+
+    /**
+     * Encodes the pending output and writes it to the channel
+     */
+    public void flush() throws IOException {
+        if (pending.isEmpty()) {
+            return;
+        }
+        CharBuffer chars = CharBuffer.wrap(pending);
+        encoder.reset();
+        while (encoder.encode(chars, bytes, true).isOverflow()) {
+            drain();
+        }
+        while (encoder.flush(bytes).isOverflow()) {
+            drain();
+        }
+        drain();
+        pending.setLength(0);
+    }
+
+    /**
+     * Writes the pending output and closes the input and output, unless they are the ones of the console
+     */
+    @Override
+    public void close() throws IOException {
+        if (!ownsStreams) {
+            flush();
+            return;
+        }
+        try (reader; out) {
+            flush();
+        }
+    }
+
+    private void drain() throws IOException {
+        bytes.flip();
+        while (bytes.hasRemaining()) {
+            out.write(bytes);
+        }
+        bytes.clear();
+    }
+}
@@ -0,0 +1,60 @@
+package core.util;
+
+import model.Side;
+
+import java.util.random.RandomGenerator;
+
+/**
+ * Questions every vocabulary once before any is repeated. Each pass over the deck is a Fisher–Yates shuffle,
+ * the direction of every question is planned together with the pass.
+ * A vocabulary that ends a pass never starts the next one, as long as the deck has more than one vocabulary.
+ */
+public class ShuffledQuestionOrder implements QuestionOrder {
+    private final RandomGenerator random;
+    private final int[] deck;
+    private final Side[] solutions;
+    private int position;
+
+    public ShuffledQuestionOrder(int size, RandomGenerator random) {
+        this.random = random;
+        this.deck = new int[size];
+        this.solutions = new Side[size];
+        for (int i = 0; i < size; i++) {
+            deck[i] = i;
+        }
+        shuffle();
+    }
+
+    @Override
+    public int next() {
+        if (position == deck.length) {
+            int last = deck[deck.length - 1];
+            shuffle();
+            if (deck.length > 1 && deck[0] == last) {
+                swap(0, 1 + random.nextInt(deck.length - 1));
+            }
+        }
+        return deck[position++];
+    }
+
+    @Override
+    public Side solution() {
+        return solutions[position - 1];
+    }
+
+    private void shuffle() {
+        for (int i = deck.length - 1; i > 0; i--) {
+            swap(i, random.nextInt(i + 1));
+        }
+        for (int i = 0; i < solutions.length; i++) {
+            solutions[i] = random.nextBoolean() ? Side.ENGLISH_GERMAN : Side.JAPANESE;
+        }
+        position = 0;
+    }
+
+    private void swap(int i, int j) {
+        int tmp = deck[i];
+        deck[i] = deck[j];
+        deck[j] = tmp;
+    }
+}
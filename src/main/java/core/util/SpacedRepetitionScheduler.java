@@ -0,0 +1,157 @@
+package core.util;
+
+import core.progress.Progress;
+import model.Side;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.PriorityQueue;
+import java.util.function.IntFunction;
+import java.util.random.RandomGenerator;
+
+/**
+ * Spaced repetition based on SM-2. Every vocabulary is a card with an ease factor and a due time.
+ * Time is counted in questions, one SM-2 day equals STEPS_PER_DAY questions.
+ * The cards are kept in a heap ordered by due time, so selecting and rescheduling costs O(log n).
+ * Cards can start from the progress of earlier sessions, then vocabularies that were known are asked later.
+ */
+public class SpacedRepetitionScheduler implements QuestionOrder {
+    static final int STEPS_PER_DAY = 5;
+    // wrongly answered cards come back after a few other questions
+    static final int RELEARN_STEPS = 3;
+    private static final double INITIAL_EASE = 2.5;
+    private static final double MIN_EASE = 1.3;
+
+    private final PriorityQueue<Card> queue;
+    private final RandomGenerator random;
+    private Card current;
+    private Side solution;
+    private long step = 0;
+
+    /**
+     * @param size number of vocabularies. All of them are due at the start, in random order
+     * @param random decides the order of cards that are due at the same time and the direction of the questions
+     */
+    public SpacedRepetitionScheduler(int size, RandomGenerator random) {
+        this(size, random, vocabulary -> Progress.NONE);
+    }
+
+    /**
+     * @param size number of vocabularies
+     * @param random decides the order of cards that are due at the same time and the direction of the questions
+     * @param history progress of earlier sessions for the vocabulary at a position. New and wrongly answered
+     *                vocabularies are due at the start, the others after the interval their streak earned
+     */
+    public SpacedRepetitionScheduler(int size, RandomGenerator random, IntFunction<Progress> history) {
+        this.random = random;
+        List<Card> cards = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            Card card = new Card(i, random.nextDouble());
+            card.restore(history.apply(i));
+            cards.add(card);
+        }
+        queue = new PriorityQueue<>(cards); // heapify in O(n)
+    }
+
+    @Override
+    public int next() {
+        if (current != null) { // the last question wasn't graded
+            queue.add(current);
+        }
+        step++;
+        current = queue.poll();
+        solution = random.nextBoolean() ? Side.ENGLISH_GERMAN : Side.JAPANESE;
+        return current.vocabulary;
+    }
+
+    @Override
+    public Side solution() {
+        return solution;
+    }
+
+    @Override
+    public void graded(int vocabulary, Grade grade) {
+        if (current == null || current.vocabulary != vocabulary) {
+            return;
+        }
+        current.review(quality(grade), step);
+        queue.add(current);
+        current = null;
+    }
+
+    @Override
+    public boolean dependsOnGrades() {
+        return true;
+    }
+
+    /**
+     * @return SM-2 quality of a response from 0 to 5
+     */
+    private static int quality(Grade grade) {
+        return switch (grade) {
+            case CORRECT -> 5;
+            case NEAR_MISS -> 3;
+            case WRONG -> 1;
+        };
+    }
+
+    private static final class Card implements Comparable<Card> {
+        private final int vocabulary;
+        private final double tieBreak;
+        private double ease = INITIAL_EASE;
+        private int repetitions = 0;
+        private int interval = 0; // in days
+        private long due = 0;
+
+        private Card(int vocabulary, double tieBreak) {
+            this.vocabulary = vocabulary;
+            this.tieBreak = tieBreak;
+        }
+
+        /**
+         * Replays the totals of earlier sessions. Their order is unknown, so the ease only sums up the changes
+         * of every answer and the repetitions are the current streak.
+         */
+        private void restore(Progress progress) {
+            int wrong = progress.attempts() - progress.correct();
+            ease = Math.max(MIN_EASE, INITIAL_EASE + easeChange(5) * (progress.correct() - progress.nearMisses())
+                    + easeChange(3) * progress.nearMisses() + easeChange(1) * wrong);
+            for (int i = 0; i < progress.streak(); i++) {
+                repetitions++;
+                interval = nextInterval();
+            }
+            due = (long) interval * STEPS_PER_DAY;
+        }
+
+        private void review(int quality, long now) {
+            if (quality < 3) {
+                repetitions = 0;
+                interval = 0;
+                due = now + RELEARN_STEPS;
+            } else {
+                repetitions++;
+                interval = nextInterval();
+                due = now + (long) interval * STEPS_PER_DAY;
+            }
+            ease = Math.max(MIN_EASE, ease + easeChange(quality));
+        }
+
+        private int nextInterval() {
+            return switch (repetitions) {
+                case 1 -> 1;
+                case 2 -> 6;
+                default -> (int) Math.round(interval * ease);
+            };
+        }
+
+        private static double easeChange(int quality) {
+            return 0.1 - (5 - quality) * (0.08 + (5 - quality) * 0.02);
+        }
+
+        @Override
+        public int compareTo(Card other) {
+            int byDue = Long.compare(due, other.due);
+            return byDue != 0 ? byDue : Double.compare(tieBreak, other.tieBreak);
+        }
+    }
+}
@@ -0,0 +1,131 @@
+package core.util;
+
+import java.util.*;
+
+/**
+ * Rewrites text with a table of rules, e.g. kana to romaji. The rules are compiled into a deterministic automaton
+ * over their characters. At every position the longest rule that matches is applied, characters no rule starts with
+ * are copied. Rules are at most a few characters long, so a text is converted in one pass with a bounded look ahead.
+ * Word rules only apply to a whole word, i.e. between characters that are no letters, e.g. the particle は.
+ * Converting only appends to the given builder, nothing is allocated per character.
+ * A transliterator is immutable and can be shared between threads.
+ */
+public final class Transliterator {
+    private static final int NONE = -1;
+
+    // for every state the characters that leave it, sorted, and the states they lead to
+    private final char[][] labels;
+    private final int[][] targets;
+    // replacement of the rule that ends in the state, null if no rule ends there
+    private final String[] outputs;
+    // replacement of the word rule that ends in the state, null if no word rule ends there
+    private final String[] wordOutputs;
+
+    private Transliterator(char[][] labels, int[][] targets, String[] outputs, String[] wordOutputs) {
+        this.labels = labels;
+        this.targets = targets;
+        this.outputs = outputs;
+        this.wordOutputs = wordOutputs;
+    }
+
+    /**
+     * @param rules lowercase text to replace -> replacement
+     * @return automaton of the rules
+     */
+    public static Transliterator compile(Map<String, String> rules) {
+        return compile(rules, Map.of());
+    }
+
+    /**
+     * @param rules lowercase text to replace -> replacement
+     * @param words lowercase words to replace -> replacement, they win over rules of the same length
+     * @return automaton of the rules
+     */
+    public static Transliterator compile(Map<String, String> rules, Map<String, String> words) {
+        List<TreeMap<Character, Integer>> edges = new ArrayList<>();
+        List<String> outputs = new ArrayList<>();
+        List<String> wordOutputs = new ArrayList<>();
+        edges.add(new TreeMap<>());
+        outputs.add(null);
+        wordOutputs.add(null);
+        rules.forEach((from, to) -> outputs.set(add(edges, outputs, wordOutputs, from), to));
+        words.forEach((from, to) -> wordOutputs.set(add(edges, outputs, wordOutputs, from), to));
+        char[][] labels = new char[edges.size()][];
+        int[][] targets = new int[edges.size()][];
+        for (int state = 0; state < edges.size(); state++) {
+            labels[state] = new char[edges.get(state).size()];
+            targets[state] = new int[edges.get(state).size()];
+            int i = 0;
+            for (Map.Entry<Character, Integer> edge : edges.get(state).entrySet()) {
+                labels[state][i] = edge.getKey();
+                targets[state][i++] = edge.getValue();
+            }
+        }
+        return new Transliterator(labels, targets, outputs.toArray(String[]::new), wordOutputs.toArray(String[]::new));
+    }
+
+    /**
+     * Adds the states for the text of a rule
+     * @return state the text ends in
+     */
+    private static int add(List<TreeMap<Character, Integer>> edges, List<String> outputs, List<String> wordOutputs,
+                           String from) {
+        int state = 0;
+        for (int i = 0; i < from.length(); i++) {
+            Integer next = edges.get(state).get(from.charAt(i));
+            if (next == null) {
+                next = edges.size();
+                edges.get(state).put(from.charAt(i), next);
+                edges.add(new TreeMap<>());
+                outputs.add(null);
+                wordOutputs.add(null);
+            }
+            state = next;
+        }
+        return state;
+    }
+
+    /**
+     * Converts the window [from, to) of the text. Upper case letters match the rules of their lower case,
+     * the window starts and ends a word.
+     * @param out the converted text is appended here
+     * @return out
+     */
+    public StringBuilder transliterate(CharSequence text, int from, int to, StringBuilder out) {
+        int position = from;
+        while (position < to) {
+            String match = null;
+            int matchEnd = position;
+            int state = 0;
+            boolean wordStart = position == from || !Character.isLetter(text.charAt(position - 1));
+            for (int i = position; i < to && (state = next(state, Character.toLowerCase(text.charAt(i)))) != NONE; i++) {
+                if (wordStart && wordOutputs[state] != null && (i + 1 == to || !Character.isLetter(text.charAt(i + 1)))) {
+                    match = wordOutputs[state];
+                    matchEnd = i + 1;
+                } else if (outputs[state] != null) {
+                    match = outputs[state];
+                    matchEnd = i + 1;
+                }
+            }
+            if (match == null) {
+                out.append(text.charAt(position++));
+            } else {
+                out.append(match);
+                position = matchEnd;
+            }
+        }
+        return out;
+    }
+
+    /**
+     * Converts a whole text at once
+     */
+    public String apply(CharSequence text) {
+        return transliterate(text, 0, text.length(), new StringBuilder(text.length() + 8)).toString();
+    }
+
+    private int next(int state, char c) {
+        int i = Arrays.binarySearch(labels[state], c);
+        return i < 0 ? NONE : targets[state][i];
+    }
+}
@@ -1,18 +1,59 @@
 package model;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.NoArgsConstructor;
-import lombok.Setter;
 
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 
+/**
+ * Immutable snapshot of a selected deck. It can be shared by any number of sessions and threads.
+ */
 @Getter
-@Setter
-@NoArgsConstructor
-@AllArgsConstructor
-public class Questionnaire {
-    private List<Vocabulary> vocabularies = new ArrayList<>();
-    private String infoText = "Only god can help you.\r\n";
+public final class Questionnaire {
+    public static final String UNNAMED = "custom";
+    // decks it was assembled from, e.g. 'lesson:6+counter:book'
+    private final String name;
+    private final List<Vocabulary> vocabularies;
+    // manifest id of the deck every vocabulary was taken from, by position. Empty if unknown
+    private final List<String> deckIds;
+    private final String infoText;
+
+    /**
+     * @param vocabularies copied into an immutable array backed list unless it already is one
+     * @param infoText help given for the user
+     */
+    public Questionnaire(List<Vocabulary> vocabularies, String infoText) {
+        this(UNNAMED, vocabularies, infoText);
+    }
+
+    /**
+     * @param name decks the vocabularies were taken from
+     * @param vocabularies copied into an immutable array backed list unless it already is one
+     * @param infoText help given for the user
+     */
+    public Questionnaire(String name, List<Vocabulary> vocabularies, String infoText) {
+        this(name, vocabularies, List.of(), infoText);
+    }
+
+    /**
+     * @param name decks the vocabularies were taken from
+     * @param vocabularies copied into an immutable array backed list unless it already is one
+     * @param deckIds manifest id of the deck of every vocabulary, null for vocabularies of no deck. Empty if unknown
+     * @param infoText help given for the user
+     */
+    public Questionnaire(String name, List<Vocabulary> vocabularies, List<String> deckIds, String infoText) {
+        this.name = name;
+        this.vocabularies = List.copyOf(vocabularies);
+        this.deckIds = deckIds.isEmpty() ? List.of() : Collections.unmodifiableList(new ArrayList<>(deckIds));
+        this.infoText = infoText;
+    }
+
+    /**
+     * @param vocabulary position of the vocabulary
+     * @return manifest id of the deck it was taken from, e.g. 'lessons/l6', or null if unknown
+     */
+    public String deckOf(int vocabulary) {
+        return vocabulary < deckIds.size() ? deckIds.get(vocabulary) : null;
+    }
 }
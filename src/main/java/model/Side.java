@@ -0,0 +1,21 @@
+package model;
+
+import java.util.List;
+
+/**
+ * The two languages of a vocabulary
+ */
+public enum Side {
+    JAPANESE, ENGLISH_GERMAN;
+
+    public Side other() {
+        return this == JAPANESE ? ENGLISH_GERMAN : JAPANESE;
+    }
+
+    /**
+     * @return the meanings of the vocabulary on this side
+     */
+    public List<String> of(Vocabulary vocabulary) {
+        return this == JAPANESE ? vocabulary.getJapanese() : vocabulary.getEnglishGerman();
+    }
+}
@@ -1,15 +1,44 @@
 package model;
 
-import lombok.AllArgsConstructor;
 import lombok.Getter;
-import lombok.Setter;
 
 import java.util.List;
 
-@AllArgsConstructor
+/**
+ * Immutable pair of japanese and translated meanings.
+ * Two vocabularies are equal if they have the same japanese and translated meanings in the same order.
+ * The hash is computed once, so vocabularies are cheap keys for sets and maps.
+ */
 @Getter
-@Setter
-public class Vocabulary {
-    private List<String> japanese;
-    private List<String> englishGerman;
+public final class Vocabulary {
+    private final List<String> japanese;
+    private final List<String> englishGerman;
+    @Getter(lombok.AccessLevel.NONE)
+    private final int hash;
+
+    /**
+     * @param japanese copied unless it is already immutable
+     * @param englishGerman copied unless it is already immutable
+     */
+    public Vocabulary(List<String> japanese, List<String> englishGerman) {
+        this.japanese = List.copyOf(japanese);
+        this.englishGerman = List.copyOf(englishGerman);
+        this.hash = 31 * this.japanese.hashCode() + this.englishGerman.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || o instanceof Vocabulary other && hash == other.hash
+                && japanese.equals(other.japanese) && englishGerman.equals(other.englishGerman);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public String toString() {
+        return "Vocabulary(japanese=%s, englishGerman=%s)".formatted(japanese, englishGerman);
+    }
 }
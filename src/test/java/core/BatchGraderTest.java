@@ -0,0 +1,24 @@
+package core;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+class BatchGraderTest {
+
+    @ParameterizedTest
+    @ValueSource(strings = {"lessons:6,7", "counter:book", "counter:all", "days", "days:weekdays", "days:month",
+            "families:own", "families:other", "positions", "directions", "lessons:6+counter:book+days:month"})
+    void knownDecksAreLoaded(String specification) {
+        assertFalse(BatchGrader.loadDecks(specification).isEmpty());
+    }
+
+    @ParameterizedTest
+    @ValueSource(strings = {"days:weekday", "families:mine", "counter:bok", "lessons:99",
+            "lessons:six", "positions:left", "animals", "lessons:6+days:x"})
+    void unknownDecksAreRejected(String specification) {
+        assertThrows(IllegalArgumentException.class, () -> BatchGrader.loadDecks(specification));
+    }
+}
@@ -0,0 +1,38 @@
+package core.loading;
+
+import model.Questionnaire;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class QuestionnaireLoaderTest {
+
+    @Test
+    void everyVocabularyKnowsItsDeck() {
+        Questionnaire questionnaire = new QuestionnaireLoader().loadLesson(6).loadCounterByName("book").collect();
+        int size = questionnaire.getVocabularies().size();
+
+        assertEquals("lesson:6+counter:book", questionnaire.getName());
+        assertEquals("lessons/l6", questionnaire.deckOf(0));
+        assertEquals("themes/counter/book", questionnaire.deckOf(size - 1));
+        assertNull(questionnaire.deckOf(size));
+    }
+
+    @Test
+    void combinedDecksKnowTheirFiles() {
+        Questionnaire counters = new QuestionnaireLoader().loadAllCounter().collect();
+        Questionnaire days = new QuestionnaireLoader().loadDays().collect();
+
+        for (int i = 0; i < counters.getVocabularies().size(); i++) {
+            assertTrue(counters.deckOf(i).startsWith("themes/counter/"), counters.getVocabularies().get(i).toString());
+        }
+        assertEquals("themes/days/month", days.deckOf(0));
+        assertEquals("themes/days/week", days.deckOf(days.getVocabularies().size() - 1));
+    }
+
+    @Test
+    void equalSelectionsShareTheirSnapshot() {
+        assertSame(new QuestionnaireLoader().loadLesson(7).collect(), new QuestionnaireLoader().loadLesson(7).collect());
+        assertTrue(new QuestionnaireLoader().isEmpty());
+    }
+}
@@ -0,0 +1,96 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.junit.jupiter.api.Test;
+
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SearchIndexTest {
+    private static final Vocabulary INU = new Vocabulary(List.of("inu"), List.of("dog", "Hund"));
+    private static final Vocabulary NEKO = new Vocabulary(List.of("neko"), List.of("cat", "Katze"));
+    private static final Vocabulary HONDANA = new Vocabulary(List.of("hondana"), List.of("bookshelf", "Bücherregal"));
+    private static final Vocabulary HON = new Vocabulary(List.of("hon"), List.of("book", "Buch"));
+    private static final Vocabulary ZZZ = new Vocabulary(List.of("zzz"), List.of("zzz￿", "zzz￿z"));
+
+    private final SearchIndex index = SearchIndex.of(decks());
+
+    private static Map<String, List<Vocabulary>> decks() {
+        Map<String, List<Vocabulary>> decks = new LinkedHashMap<>();
+        decks.put("lesson:6", List.of(INU, NEKO, HONDANA, HON));
+        decks.put("custom", List.of(HON, ZZZ));
+        return decks;
+    }
+
+    private List<Vocabulary> search(String prefix) {
+        return index.search(prefix, Integer.MAX_VALUE).stream().map(SearchIndex.Hit::vocabulary).toList();
+    }
+
+    @Test
+    void emptyPrefixFindsNothing() {
+        assertEquals(List.of(), search(""));
+        assertEquals(List.of(), search(" - "));
+        assertEquals(0, index.count(""));
+    }
+
+    @Test
+    void prefixesBeforeAndAfterAllKeysFindNothing() {
+        assertEquals(List.of(), search("a"));
+        assertEquals(0, index.count("a"));
+        assertEquals(List.of(), search("zzzz"));
+        assertEquals(0, index.count("zzzz"));
+        assertEquals(List.of(), search("￿"));
+        assertEquals(0, index.count("￿"));
+    }
+
+    @Test
+    void prefixesMatchTheStartOfMeanings() {
+        assertEquals(List.of(INU), search("in"));
+        assertEquals(List.of(NEKO), search("KAT"));
+        assertEquals(List.of(HONDANA), search("buecher"));
+        assertEquals(List.of(), search("og"));
+    }
+
+    @Test
+    void exactKeysAndLongerKeysAreFound() {
+        // 'book' and 'bookshelf' both start with 'book', 'hon' is in two decks
+        assertEquals(List.of(HON, HON, HONDANA), search("book"));
+        assertEquals(3, index.count("book"));
+        assertEquals(List.of(HON, HON, HONDANA), search("hon"));
+        assertEquals(3, index.count("hon"));
+        assertEquals(List.of(HONDANA), search("bookshelf"));
+        assertEquals(1, index.count("bookshelf"));
+    }
+
+    @Test
+    void keysThatContinueWithTheLastCharacterAreCounted() {
+        assertEquals(3, index.count("zzz"));
+        assertEquals(2, index.count("zzz￿"));
+        assertEquals(1, index.count("zzz￿z"));
+        assertEquals(List.of(ZZZ), search("zzz￿"));
+    }
+
+    @Test
+    void everyVocabularyOfADeckIsFoundOnce() {
+        // 'hund' and 'hon' both start with 'h', the books match twice in their deck
+        assertEquals(List.of(HON, HON, HONDANA, INU), search("h"));
+    }
+
+    @Test
+    void limitCutsTheHits() {
+        assertEquals(List.of(HON), index.search("hon", 1).stream().map(SearchIndex.Hit::vocabulary).toList());
+        assertEquals(List.of(), index.search("hon", 0));
+        assertEquals("lesson:6", index.search("hon", 1).get(0).deck());
+    }
+
+    @Test
+    void sizeIsTheNumberOfMeanings() {
+        assertEquals(18, index.size());
+        assertEquals(0, SearchIndex.of(Map.of()).size());
+        assertEquals(List.of(), SearchIndex.of(Map.of()).search("a", 10));
+        assertEquals(0, SearchIndex.of(Map.of()).count("a"));
+    }
+}
@@ -0,0 +1,87 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VocabularyIndexTest {
+
+    @Test
+    void counterDecksHaveTheCounterFormat() throws IOException {
+        List<Vocabulary> vocabularies = new ArrayList<>();
+        VocabularyIndex.Entry entry = VocabularyIndex.describe("vocabularies/themes/counter/cups.csv",
+                List.of("ippai", "nihai", "nan-bai:question cups"), vocabularies);
+
+        assertTrue(entry.isCounter());
+        assertEquals("themes/counter/cups", entry.id());
+        assertEquals(VocabularyIndex.THEME, entry.kind());
+        assertEquals("counter", entry.group());
+        assertEquals(3, entry.range());
+        assertEquals("cups", entry.suffix());
+        assertEquals(3, entry.entries());
+        assertEquals(List.of("ippai"), vocabularies.get(0).getJapanese());
+        assertEquals(List.of("question cups"), vocabularies.get(2).getEnglishGerman());
+    }
+
+    @Test
+    void daysOfTheMonthHaveTheCounterFormat() throws IOException {
+        VocabularyIndex.Entry entry = VocabularyIndex.describe("vocabularies/themes/days/month.csv",
+                List.of("tsuitachi", "futsuka"), new ArrayList<>());
+
+        assertTrue(entry.isCounter());
+        assertEquals(3, entry.range());
+        assertEquals("", entry.suffix());
+    }
+
+    @Test
+    void otherDecksHaveTheStandardFormat() throws IOException {
+        List<Vocabulary> vocabularies = new ArrayList<>();
+        // a single line without separator used to be taken for a counter deck
+        VocabularyIndex.Entry entry = VocabularyIndex.describe("vocabularies/themes/days/week.csv",
+                List.of("getsu-yoobi"), vocabularies);
+        VocabularyIndex.Entry lesson = VocabularyIndex.describe("vocabularies/lessons/l20.csv",
+                List.of("inu", "neko:cat"), vocabularies);
+
+        assertFalse(entry.isCounter());
+        assertEquals(0, entry.range());
+        assertEquals(0, entry.entries());
+        assertFalse(lesson.isCounter());
+        assertEquals(20, lesson.lesson());
+        assertEquals(1, lesson.entries());
+        assertEquals(List.of("neko"), vocabularies.get(0).getJapanese());
+    }
+
+    @Test
+    void checksumCoversEveryLine() {
+        long crc = VocabularyIndex.crc32(List.of("inu:dog", "neko:cat"));
+
+        assertEquals(crc, VocabularyIndex.crc32(List.of("inu:dog", "neko:cat")));
+        assertNotEquals(crc, VocabularyIndex.crc32(List.of("inu:dog", "neko:cats")));
+        assertNotEquals(crc, VocabularyIndex.crc32(List.of("inu:dog", "neko:cat", "")));
+    }
+
+    @Test
+    void staleEntriesAreIndexedAgain() throws IOException {
+        VocabularyIndex.Entry current = VocabularyIndex.get("themes/counter/book");
+        VocabularyIndex.Entry stale = new VocabularyIndex.Entry(current.id(), current.kind(), current.group(),
+                current.path(), current.format(), current.range(), current.suffix(), current.entries() - 1, current.crc32() ^ 1);
+
+        List<Vocabulary> loaded = VocabularyIndex.load(stale);
+
+        assertEquals(current.entries(), loaded.size());
+        assertEquals(current, VocabularyIndex.get("themes/counter/book"));
+        assertEquals(loaded, VocabularyIndex.load(current));
+    }
+
+    @Test
+    void entriesSurviveTheManifest() {
+        VocabularyIndex.Entry entry = VocabularyIndex.get("themes/counter/book");
+
+        assertEquals(entry, VocabularyIndex.Entry.parse(entry.toLine()));
+    }
+}
@@ -0,0 +1,98 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VocabularyLineParserTest {
+    private final VocabularyLineParser parser = new VocabularyLineParser("test.csv");
+
+    @Test
+    void standardLine() {
+        assertEquals(vocabulary(List.of("inu"), List.of("dog", "Hund")), parser.parseStandard("inu:dog,Hund"));
+    }
+
+    @Test
+    void byteOrderMarkIsSkippedOnTheFirstLine() {
+        assertEquals(vocabulary(List.of("inu"), List.of("dog")), parser.parseStandard("\uFEFFinu:dog"));
+    }
+
+    @Test
+    void byteOrderMarkIsKeptAfterTheFirstLine() {
+        parser.parseStandard("inu:dog");
+
+        assertEquals(List.of("\uFEFFneko"), parser.parseStandard("\uFEFFneko:cat").getJapanese());
+    }
+
+    @Test
+    void quotedMeaningsKeepCommasAndQuotes() {
+        Vocabulary vocabulary = parser.parseStandard("\"hai, soo desu\":\"yes, that's right\",\"say \"\"hi\"\"\"");
+
+        assertEquals(List.of("hai, soo desu"), vocabulary.getJapanese());
+        assertEquals(List.of("yes, that's right", "say \"hi\""), vocabulary.getEnglishGerman());
+    }
+
+    @Test
+    void semicolonSeparatesLanguagesAndMeanings() {
+        assertEquals(vocabulary(List.of("kyoodai", "kyōdai"), List.of("siblings", "Geschwister")),
+                parser.parseStandard("kyoodai,kyōdai;siblings;Geschwister"));
+    }
+
+    @Test
+    void tabSeparatesLanguages() {
+        assertEquals(vocabulary(List.of("ねこ"), List.of("cat", "Katze")), parser.parseStandard("ねこ\tcat,Katze"));
+    }
+
+    @Test
+    void whitespaceAroundSeparatorsIsTrimmed() {
+        assertEquals(vocabulary(List.of("joozu na"), List.of("skillful", "geschickt")),
+                parser.parseStandard("  joozu na :  skillful ,geschickt  "));
+    }
+
+    @Test
+    void emptyMeaningsAreDropped() {
+        assertEquals(vocabulary(List.of("inu"), List.of("dog")), parser.parseStandard("inu,,:dog,"));
+    }
+
+    @Test
+    void blankAndCommentLinesCarryNoVocabulary() {
+        assertNull(parser.parseStandard(""));
+        assertNull(parser.parseStandard("   "));
+        assertNull(parser.parseStandard("# lesson 6"));
+        assertEquals(0, parser.getErrorCount());
+    }
+
+    @Test
+    void malformedLinesAreRejectedWithTheirLineNumber() {
+        assertNull(parser.parseStandard("inu dog"));
+        assertNull(parser.parseStandard("inu:dog:Hund"));
+        assertNull(parser.parseStandard("\"inu:dog"));
+        assertNull(parser.parseStandard(":dog"));
+        assertNull(parser.parseStandard("inu:"));
+        assertNull(parser.parseStandard("inu:d\u0007og"));
+
+        List<VocabularyLineParser.ParseError> errors = parser.getErrors();
+        assertEquals(6, errors.size());
+        assertEquals(List.of(1, 2, 3, 4, 5, 6), errors.stream().map(VocabularyLineParser.ParseError::lineNumber).toList());
+        assertEquals("missing ':' between japanese and translated meanings", errors.get(0).reason());
+        assertEquals("more than one separator between languages", errors.get(1).reason());
+        assertEquals("unterminated quote", errors.get(2).reason());
+        assertEquals("no japanese meaning", errors.get(3).reason());
+        assertEquals("no translated meaning", errors.get(4).reason());
+        assertEquals("control character at column 6", errors.get(5).reason());
+    }
+
+    @Test
+    void counterLinesOnlyHoldJapaneseMeanings() {
+        assertEquals(List.of("ippon", "ichi-hon"), parser.parseJapanese("\uFEFFippon, ichi-hon"));
+        assertNull(parser.parseJapanese("nihon:two"));
+        assertEquals(1, parser.getErrorCount());
+    }
+
+    private static Vocabulary vocabulary(List<String> japanese, List<String> englishGerman) {
+        return new Vocabulary(japanese, englishGerman);
+    }
+}
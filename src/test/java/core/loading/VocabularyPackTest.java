@@ -0,0 +1,84 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VocabularyPackTest {
+    private static final String LESSON = "vocabularies/lessons/l1.csv";
+    private static final String THEME = "vocabularies/themes/counter/book.csv";
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void decksSurviveWriteAndRead() throws IOException {
+        List<Vocabulary> lesson = List.of(
+                new Vocabulary(List.of("inu"), List.of("dog", "Hund")),
+                new Vocabulary(List.of("kyoodai", "kyōdai"), List.of("siblings", "Geschwister")),
+                new Vocabulary(List.of("ねこ"), List.of("cat", "Katze, die")));
+        List<Vocabulary> theme = List.of(
+                new Vocabulary(List.of("issatsu"), List.of("1 book")),
+                new Vocabulary(List.of("inu"), List.of("dog", "Hund")));
+
+        VocabularyPack pack = VocabularyPack.open(compile(LESSON, lesson, THEME, theme));
+
+        assertEquals(lesson, pack.deck(LESSON));
+        assertEquals(theme, pack.deck(THEME));
+        assertEquals(Set.of(LESSON, THEME), pack.paths());
+    }
+
+    @Test
+    void emptyDecksAndMeaningsAreKept() throws IOException {
+        List<Vocabulary> deck = List.of(new Vocabulary(List.of(""), List.of()));
+
+        VocabularyPack pack = VocabularyPack.open(compile(LESSON, deck, THEME, List.of()));
+
+        assertEquals(deck, pack.deck(LESSON));
+        assertTrue(pack.deck(THEME).isEmpty());
+    }
+
+    @Test
+    void equalMeaningsAreDecodedOnce() throws IOException {
+        List<Vocabulary> deck = List.of(
+                new Vocabulary(List.of("inu"), List.of("dog")),
+                new Vocabulary(List.of("inu"), List.of("Hund")));
+
+        List<Vocabulary> read = VocabularyPack.open(compile(LESSON, deck, THEME, List.of())).deck(LESSON);
+
+        assertSame(read.get(0).getJapanese().get(0), read.get(1).getJapanese().get(0));
+        assertSame(read.get(0), read.get(0));
+    }
+
+    @Test
+    void unknownPathIsNull() throws IOException {
+        VocabularyPack pack = VocabularyPack.open(compile(LESSON, List.of(), THEME, List.of()));
+
+        assertNull(pack.deck("vocabularies/lessons/l99.csv"));
+    }
+
+    @Test
+    void otherFilesAreRejected() throws IOException {
+        Path file = directory.resolve("other.pack");
+        Files.write(file, new byte[]{'V', 'P', 'K', '0', 0, 0, 0, 1, 0, 0, 0, 0, 0, 0, 0, 0});
+
+        assertThrows(IOException.class, () -> VocabularyPack.open(file));
+    }
+
+    private Path compile(String firstPath, List<Vocabulary> first, String secondPath, List<Vocabulary> second) throws IOException {
+        VocabularyPackCompiler compiler = new VocabularyPackCompiler();
+        compiler.addDeck(firstPath, first);
+        compiler.addDeck(secondPath, second);
+        Path pack = directory.resolve(VocabularyPack.RESOURCE);
+        compiler.write(pack);
+        return pack;
+    }
+}
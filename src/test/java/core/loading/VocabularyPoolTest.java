@@ -0,0 +1,53 @@
+package core.loading;
+
+import model.Vocabulary;
+import org.junit.jupiter.api.Test;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class VocabularyPoolTest {
+
+    @Test
+    void equalMeaningsShareOneInstance() {
+        String meaning = VocabularyPool.meaning(new String("1 book"));
+        assertSame(meaning, VocabularyPool.meaning(new String("1 book")));
+        assertNotSame(meaning, VocabularyPool.meaning(new String("2 books")));
+    }
+
+    @Test
+    void equalVocabulariesShareOneInstance() {
+        Vocabulary lesson = VocabularyPool.vocabulary(List.of(new String("issatsu")), List.of(new String("1 book")));
+        Vocabulary theme = VocabularyPool.vocabulary(List.of(new String("issatsu")), List.of(new String("1 book")));
+        Vocabulary other = VocabularyPool.vocabulary(List.of(new String("nisatsu")), List.of(new String("1 book")));
+
+        assertSame(lesson, theme);
+        assertNotSame(lesson, other);
+        // vocabularies with different japanese meanings still share the translated ones
+        assertSame(lesson.getEnglishGerman().get(0), other.getEnglishGerman().get(0));
+    }
+
+    @Test
+    void pooledMeaningsAreImmutable() {
+        List<String> japanese = new ArrayList<>(List.of("sansatsu"));
+        Vocabulary vocabulary = VocabularyPool.vocabulary(japanese, List.of("3 books"));
+        japanese.add("changed");
+
+        assertEquals(List.of("sansatsu"), vocabulary.getJapanese());
+        assertThrows(UnsupportedOperationException.class, () -> vocabulary.getJapanese().add("x"));
+    }
+
+    @Test
+    void unusedVocabulariesAreReleased() throws InterruptedException {
+        WeakReference<Vocabulary> released = new WeakReference<>(
+                VocabularyPool.vocabulary(List.of("released-" + System.nanoTime()), List.of("gone")));
+        for (int i = 0; i < 50 && released.get() != null; i++) {
+            System.gc();
+            Thread.sleep(20);
+        }
+        assertNull(released.get());
+    }
+}
@@ -0,0 +1,35 @@
+package core.monitoring;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class EventRateTest {
+
+    @Test
+    void concurrentMarksAreAllCounted() throws InterruptedException {
+        EventRate rate = new EventRate();
+        int threads = 4;
+        int marks = 200_000;
+        Thread[] markers = new Thread[threads];
+        for (int i = 0; i < threads; i++) {
+            markers[i] = Thread.ofPlatform().start(() -> {
+                for (int j = 0; j < marks; j++) {
+                    rate.mark();
+                }
+            });
+        }
+        for (Thread marker : markers) {
+            marker.join();
+        }
+        // only complete seconds are counted
+        Thread.sleep(1000 - System.currentTimeMillis() % 1000 + 50);
+
+        assertEquals((double) threads * marks / EventRate.WINDOW, rate.perSecond());
+    }
+
+    @Test
+    void nothingMarkedIsZero() {
+        assertEquals(0, new EventRate().perSecond());
+    }
+}
@@ -0,0 +1,29 @@
+package core.monitoring;
+
+import core.util.Grade;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class MetricsTest {
+    private final Metrics metrics = Metrics.get();
+
+    @Test
+    void decksOfTheManifestAreCounted() {
+        Metrics.DeckOutcomes outcomes = metrics.deck("themes/days/week");
+        long correct = metrics.getCorrectAnswersPerDeck().getOrDefault("themes/days/week", 0L);
+        outcomes.record(Grade.CORRECT);
+        outcomes.record(Grade.NEAR_MISS);
+
+        assertSame(outcomes, metrics.deck("themes/days/week"));
+        assertEquals(correct + 2, metrics.getCorrectAnswersPerDeck().get("themes/days/week"));
+        assertSame(metrics.deck(Metrics.OTHER_DECK), metrics.deck(Metrics.OTHER_DECK));
+    }
+
+    @Test
+    void unknownDecksAreRejected() {
+        assertThrows(IllegalArgumentException.class, () -> metrics.deck("lesson:6+counter:book"));
+        assertThrows(IllegalArgumentException.class, () -> metrics.deck("themes/counter/anything a learner types"));
+        assertFalse(metrics.getCorrectAnswersPerDeck().containsKey("lesson:6+counter:book"));
+    }
+}
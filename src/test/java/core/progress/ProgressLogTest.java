@@ -0,0 +1,124 @@
+package core.progress;
+
+import core.util.Grade;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressLogTest {
+    private static final long LEARNER = 42;
+    private static final Grade[] GRADES = Grade.values();
+
+    @TempDir
+    Path directory;
+
+    private final Map<Long, Progress> expected = new HashMap<>();
+
+    private void append(ProgressLog log, long item, Grade grade, long epochSecond) throws IOException {
+        log.append(LEARNER, item, grade, epochSecond);
+        expected.merge(item, Progress.NONE.plus(grade, epochSecond), (old, progress) -> old.plus(grade, epochSecond));
+    }
+
+    private List<String> files() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.map(file -> file.getFileName().toString()).sorted().toList();
+        }
+    }
+
+    @Test
+    void replaysTheActiveLog() throws IOException {
+        ProgressLog log = ProgressLog.open(directory);
+        append(log, 1, Grade.CORRECT, 100);
+        append(log, 1, Grade.WRONG, 101);
+        append(log, 2, Grade.NEAR_MISS, 102);
+        log.append(7, 1, Grade.CORRECT, 103);
+        log.close();
+
+        ProgressLog reopened = ProgressLog.open(directory);
+        assertEquals(expected, reopened.of(LEARNER));
+        assertEquals(new Progress(2, 1, 0, 0, 101), reopened.of(LEARNER).get(1L));
+        assertEquals(1, reopened.of(7).size());
+        assertTrue(reopened.of(8).isEmpty());
+        reopened.close();
+    }
+
+    @Test
+    void replaysAfterCompaction() throws IOException {
+        ProgressLog log = ProgressLog.open(directory);
+        int records = (int) (Long.getLong("vocabtrainer.progress.segmentBytes", 1 << 20) / ProgressLog.RECORD_SIZE) + 5;
+        for (int i = 0; i < records; i++) {
+            append(log, i % 50, GRADES[i % 7 % GRADES.length], 1000 + i);
+        }
+        log.close(); // waits for the compaction
+
+        assertEquals(List.of("active.log", "summary-%019d.bin".formatted(1)), files());
+        assertEquals(5L * ProgressLog.RECORD_SIZE, Files.size(directory.resolve("active.log")));
+        ProgressLog reopened = ProgressLog.open(directory);
+        assertEquals(expected, reopened.of(LEARNER));
+        append(reopened, 3, Grade.CORRECT, 5000);
+        reopened.close();
+
+        ProgressLog again = ProgressLog.open(directory);
+        assertEquals(expected, again.of(LEARNER));
+        again.close();
+    }
+
+    @Test
+    void cutsOffATruncatedTail() throws IOException {
+        ProgressLog log = ProgressLog.open(directory);
+        append(log, 1, Grade.CORRECT, 100);
+        append(log, 2, Grade.WRONG, 101);
+        log.close();
+        Path active = directory.resolve("active.log");
+        // a record that was only partially written when the process died
+        Files.write(active, new byte[ProgressLog.RECORD_SIZE - 3], StandardOpenOption.APPEND);
+
+        ProgressLog reopened = ProgressLog.open(directory);
+        assertEquals(expected, reopened.of(LEARNER));
+        assertEquals(2L * ProgressLog.RECORD_SIZE, Files.size(active));
+        append(reopened, 1, Grade.NEAR_MISS, 102);
+        reopened.close();
+
+        ProgressLog again = ProgressLog.open(directory);
+        assertEquals(expected, again.of(LEARNER));
+        assertEquals(new Progress(2, 2, 1, 2, 102), again.of(LEARNER).get(1L));
+        again.close();
+    }
+
+    @Test
+    void skipsCorruptRecords() throws IOException {
+        ProgressLog log = ProgressLog.open(directory);
+        append(log, 1, Grade.CORRECT, 100);
+        log.close();
+        byte[] corrupt = new byte[ProgressLog.RECORD_SIZE];
+        corrupt[20] = (byte) GRADES.length;
+        Files.write(directory.resolve("active.log"), corrupt, StandardOpenOption.APPEND);
+
+        ProgressLog reopened = ProgressLog.open(directory);
+        assertEquals(expected, reopened.of(LEARNER));
+        reopened.close();
+    }
+
+    @Test
+    void removesLeftoversOfAnInterruptedCompaction() throws IOException {
+        ProgressLog log = ProgressLog.open(directory);
+        append(log, 1, Grade.CORRECT, 100);
+        log.close();
+        Files.write(directory.resolve("summary-%019d.bin.tmp".formatted(1)), new byte[7]);
+
+        ProgressLog reopened = ProgressLog.open(directory);
+        assertEquals(expected, reopened.of(LEARNER));
+        assertEquals(List.of("active.log"), files());
+        reopened.close();
+    }
+}
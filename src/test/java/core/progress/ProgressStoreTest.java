@@ -0,0 +1,66 @@
+package core.progress;
+
+import core.util.Grade;
+import model.Vocabulary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ProgressStoreTest {
+    private static final Vocabulary INU = new Vocabulary(List.of("inu"), List.of("dog", "Hund"));
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void learnerNames() {
+        assertTrue(ProgressStore.isValidLearner("alice"));
+        assertTrue(ProgressStore.isValidLearner("Bob_2-x"));
+        assertTrue(ProgressStore.isValidLearner("a".repeat(32)));
+        assertFalse(ProgressStore.isValidLearner(""));
+        assertFalse(ProgressStore.isValidLearner("a".repeat(33)));
+        assertFalse(ProgressStore.isValidLearner("al ice"));
+        assertFalse(ProgressStore.isValidLearner("../alice"));
+        assertFalse(ProgressStore.isValidLearner("alice\n"));
+        assertFalse(ProgressStore.isValidLearner("jörg"));
+    }
+
+    @Test
+    void defaultLearnerIsValid() {
+        assertTrue(ProgressStore.isValidLearner(ProgressStore.defaultLearner()));
+    }
+
+    @Test
+    void progressIsKeptPerLearner() throws IOException {
+        try (ProgressStore store = ProgressStore.open(directory, 4)) {
+            assertTrue(store.record("alice", ProgressStore.key(INU), Grade.CORRECT));
+            assertTrue(store.record("alice", ProgressStore.key(INU), Grade.WRONG));
+            assertTrue(store.record("bob", ProgressStore.key(INU), Grade.NEAR_MISS));
+        }
+        try (ProgressStore store = ProgressStore.open(directory, 4)) {
+            assertEquals(2, store.of("alice").get(ProgressStore.key(INU)).attempts());
+            assertEquals(1, store.of("bob").get(ProgressStore.key(INU)).nearMisses());
+            assertTrue(store.of("carol").isEmpty());
+        }
+    }
+
+    @Test
+    void invalidLearnersAreRejected() throws IOException {
+        try (ProgressStore store = ProgressStore.open(directory, 4)) {
+            assertThrows(IllegalArgumentException.class, () -> store.record("al ice", ProgressStore.key(INU), Grade.CORRECT));
+            assertThrows(IllegalArgumentException.class, () -> store.of(""));
+        }
+    }
+
+    @Test
+    void keysDependOnTheMeaningsOnly() {
+        assertEquals(ProgressStore.key(INU), ProgressStore.key(new Vocabulary(List.of("inu"), List.of("dog", "Hund"))));
+        assertNotEquals(ProgressStore.key(INU), ProgressStore.key(new Vocabulary(List.of("inu"), List.of("dogHund"))));
+        assertNotEquals(ProgressStore.key(INU), ProgressStore.key(new Vocabulary(List.of("inu", "dog"), List.of("Hund"))));
+    }
+}
@@ -0,0 +1,94 @@
+package core.util;
+
+import model.Questionnaire;
+import model.Side;
+import model.Vocabulary;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AnswerIndexTest {
+    private static final List<Vocabulary> DECK = List.of(
+            new Vocabulary(List.of("inu"), List.of("dog", "Hund")),
+            new Vocabulary(List.of("ni-satsu"), List.of("2 books", "zwei Bücher")),
+            new Vocabulary(List.of("otoosan", "chichi"), List.of("father", "Vater")));
+
+    private final AnswerIndex.Grader grader = AnswerIndex.of(DECK, 0).grader();
+
+    @Test
+    void oneMeaningIsEnough() {
+        assertEquals(Grade.CORRECT, grader.grade(0, Side.ENGLISH_GERMAN, "dog"));
+        assertEquals(Grade.CORRECT, grader.grade(2, Side.JAPANESE, "chichi"));
+    }
+
+    @Test
+    void meaningsAreSeparatedByCommaOrSemicolon() {
+        assertEquals(Grade.CORRECT, grader.grade(0, Side.ENGLISH_GERMAN, "dog, hund"));
+        assertEquals(Grade.CORRECT, grader.grade(0, Side.ENGLISH_GERMAN, "dog;Hund"));
+        assertEquals(Grade.CORRECT, grader.grade(2, Side.JAPANESE, "otoosan,chichi"));
+    }
+
+    @Test
+    void everyTypedMeaningMustBeASolution() {
+        assertEquals(Grade.WRONG, grader.grade(0, Side.ENGLISH_GERMAN, "dog, cat"));
+        assertEquals(Grade.WRONG, grader.grade(0, Side.ENGLISH_GERMAN, "dog hund"));
+    }
+
+    @Test
+    void caseUmlautsAndHyphensDontMatter() {
+        assertEquals(Grade.CORRECT, grader.grade(0, Side.ENGLISH_GERMAN, "DOG"));
+        assertEquals(Grade.CORRECT, grader.grade(1, Side.JAPANESE, "nisatsu"));
+        assertEquals(Grade.CORRECT, grader.grade(1, Side.ENGLISH_GERMAN, "2  books"));
+        assertEquals(Grade.CORRECT, grader.grade(1, Side.ENGLISH_GERMAN, "zwei buecher"));
+    }
+
+    @Test
+    void blankAnswersAreWrong() {
+        assertEquals(Grade.WRONG, grader.grade(0, Side.ENGLISH_GERMAN, ""));
+        assertEquals(Grade.WRONG, grader.grade(0, Side.ENGLISH_GERMAN, " , ;"));
+    }
+
+    @Test
+    void sidesAreGradedSeparately() {
+        assertEquals(Grade.WRONG, grader.grade(0, Side.JAPANESE, "dog"));
+        assertEquals(Grade.WRONG, grader.grade(0, Side.ENGLISH_GERMAN, "inu"));
+    }
+
+    @Test
+    void typosAreNearMissesIfTolerated() {
+        List<Vocabulary> deck = List.of(new Vocabulary(List.of("moraimasu"), List.of("to receive", "bekommen")));
+        AnswerIndex.Grader fuzzy = AnswerIndex.of(deck, 2).grader();
+
+        assertEquals(Grade.CORRECT, fuzzy.grade(0, Side.ENGLISH_GERMAN, "to receive"));
+        assertEquals(Grade.NEAR_MISS, fuzzy.grade(0, Side.ENGLISH_GERMAN, "recieve"));
+        assertEquals(Grade.NEAR_MISS, fuzzy.grade(0, Side.ENGLISH_GERMAN, "to recieve, bekomen"));
+        assertEquals(Grade.NEAR_MISS, fuzzy.grade(0, Side.JAPANESE, "moraimas"));
+        assertEquals(Grade.WRONG, fuzzy.grade(0, Side.ENGLISH_GERMAN, "to give"));
+        assertEquals(Grade.WRONG, AnswerIndex.of(deck, 0).grader().grade(0, Side.ENGLISH_GERMAN, "recieve"));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "kyoodai, kyoodai, CORRECT", "kyoodai, kyoudai, CORRECT", "kyoodai, きょうだい, CORRECT",
+            "kyoodai, kyōdai, CORRECT", "kyoodai, キョーダイ, CORRECT", "omou, omou, CORRECT", "omou, omoo, WRONG",
+            "kin'en, kin'en, CORRECT", "kin'en, きんえん, CORRECT", "kin'en, kinen, WRONG", "kinen, きねん, CORRECT",
+            "shinbun, shimbun, CORRECT", "shinbun, しんぶん, CORRECT", "konnichiwa, こんにちは, CORRECT",
+            "konnichiwa, konnichiwa, CORRECT", "ookii, おおきい, CORRECT", "ookii, oukii, WRONG"})
+    void japaneseAnswersMayBeTypedInKana(String solution, String answer, Grade grade) {
+        List<Vocabulary> deck = List.of(new Vocabulary(List.of(solution), List.of("meaning")));
+
+        assertEquals(grade, AnswerIndex.of(deck, 0).grader().grade(0, Side.JAPANESE, answer));
+    }
+
+    @Test
+    void questionnairesShareTheirIndex() {
+        Questionnaire questionnaire = new Questionnaire(DECK, "");
+
+        assertSame(AnswerIndex.of(questionnaire), AnswerIndex.of(questionnaire));
+        assertNotSame(AnswerIndex.of(questionnaire), AnswerIndex.of(new Questionnaire(DECK, "")));
+    }
+}
@@ -0,0 +1,70 @@
+package core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class FuzzyPatternTest {
+    private final NormalizedChars chars = new NormalizedChars();
+
+    private int distance(String solution, String typed) {
+        return FuzzyPattern.of(solution).distance(chars.reset(typed, 0, typed.length()));
+    }
+
+    private boolean within(List<String> meanings, String typed, int maxDistance) {
+        return AnswerSet.of(meanings, true).withinDistance(chars, typed, 0, typed.length(), maxDistance);
+    }
+
+    @Test
+    void distances() {
+        assertEquals(0, distance("receive", "receive"));
+        assertEquals(1, distance("receive", "recive"));
+        assertEquals(1, distance("receive", "receeive"));
+        assertEquals(1, distance("receive", "reseive"));
+        assertEquals(2, distance("receive", "recieve"));
+        assertEquals(7, distance("receive", ""));
+        assertEquals(3, distance("abc", "xyz"));
+        assertEquals(3, distance("to receive", "receive"));
+    }
+
+    @Test
+    void distancesAtSixtyFourCharacters() {
+        String solution = "a".repeat(FuzzyPattern.MAX_LENGTH);
+        assertEquals(0, distance(solution, solution));
+        assertEquals(1, distance(solution, solution.substring(1)));
+        assertEquals(1, distance(solution, "b" + solution.substring(1)));
+        assertNull(FuzzyPattern.of(solution + "a"));
+        assertNull(FuzzyPattern.of(""));
+    }
+
+    @Test
+    void boundIsOneEditPerThreeCharacters() {
+        // "cat" allows one edit, "ca" none
+        assertTrue(within(List.of("cat"), "cut", 2));
+        assertFalse(within(List.of("cat"), "cup", 2));
+        assertFalse(within(List.of("ca"), "cu", 2));
+        // "receive" allows two edits
+        assertTrue(within(List.of("receive"), "recieve", 2));
+        assertFalse(within(List.of("receive"), "rcieve", 2));
+        assertFalse(within(List.of("receive"), "recieve", 1));
+    }
+
+    @Test
+    void nothingIsWithinDistanceWithoutPatterns() {
+        assertFalse(AnswerSet.of(List.of("receive")).withinDistance(chars, "recieve", 0, 7, 2));
+    }
+
+    @Test
+    void verbsWithoutInfinitiveMarker() {
+        assertTrue(within(List.of("to receive"), "recieve", 2));
+        assertTrue(within(List.of("to receive"), "to recieve", 2));
+        assertTrue(within(List.of("bekommen", "zu empfangen"), "empfagen", 2));
+        assertFalse(within(List.of("to"), "tu", 2));
+        assertFalse(within(List.of("toast"), "ast", 2));
+    }
+}
@@ -0,0 +1,45 @@
+package core.util;
+
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class KanaTest {
+
+    @ParameterizedTest
+    @CsvSource({
+            "kyoodai, きょうだい", "otooto, おとうと", "kooen, こうえん", "omou, おもう", "ookii, おおきい",
+            "tooi, とおい", "tooka, とおか", "kin'en, きんえん", "kinen, きねん", "hon'ya, ほんや",
+            "shimbun, しんぶん", "tempura, てんぷら", "onna, おんな", "konnichiwa, こんにちは", "konbanwa, こんばんは",
+            "watashi wa, わたし は", "wasuremasu, わすれます", "kaisha wo, かいしゃ を", "suicchi, すいっち",
+            "kitte, きって", "hito-tsu, ひとつ", "tyotto, ちょっと"})
+    void romajiToHiragana(String romaji, String hiragana) {
+        assertEquals(hiragana, Kana.TO_HIRAGANA.apply(romaji));
+    }
+
+    @ParameterizedTest
+    @CsvSource({"koohii, コーヒー", "supootsu, スポーツ", "kyoodai, キョーダイ", "suicchi, スイッチ", "shimbun, シンブン"})
+    void romajiToKatakana(String romaji, String katakana) {
+        assertEquals(katakana, Kana.TO_KATAKANA.apply(romaji));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "きょうだい, kyoudai", "おとうと, otouto", "おもう, omou", "おおきい, ookii", "コーヒー, koohii",
+            "きんえん, kin'en", "きねん, kinen", "ほんや, hon'ya", "しんぶん, shinbun", "こんにちは, konnichiwa",
+            "こんにちわ, konnichiwa", "こんばんは, konbanwa", "わたし は, watashi wa", "はな, hana",
+            "コンニチハ, konnichiwa", "スイッチ, suicchi", "ちょっと, chotto"})
+    void kanaToRomaji(String kana, String romaji) {
+        assertEquals(romaji, Kana.TO_ROMAJI.apply(kana));
+    }
+
+    @ParameterizedTest
+    @CsvSource({
+            "omou, omou", "omoo, omoo", "kyōdai, kyoodai", "kyôdai, kyoodai", "kin'en, kin'en", "kinen, kinen",
+            "shimbun, shinbun", "tempura, tenpura", "sanma, sanma", "samma, sanma", "sinbun, shinbun",
+            "tyotto, chotto", "matti, macchi", "zyuusyo, juusho", "Tōkyō, tookyoo"})
+    void romajiToTheSpellingOfTheVocabularies(String typed, String romaji) {
+        assertEquals(romaji, Kana.TO_ROMAJI.apply(typed));
+    }
+}
@@ -0,0 +1,61 @@
+package core.util;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.StringReader;
+import java.nio.channels.Channels;
+import java.nio.channels.WritableByteChannel;
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SessionIOTest {
+    private final ByteArrayOutputStream out = new ByteArrayOutputStream();
+    private final WritableByteChannel channel = Channels.newChannel(out);
+
+    private SessionIO session(String input) {
+        return new SessionIO(new BufferedReader(new StringReader(input)), channel, StandardCharsets.UTF_8);
+    }
+
+    @Test
+    void linesAreLowercaseAndEndWithExit() throws IOException {
+        SessionIO io = session("Hello World\n");
+        assertEquals("hello world", io.readLine());
+        assertEquals("$exit", io.readLine());
+        assertEquals("$exit", io.readLine());
+    }
+
+    @Test
+    void formattedReadSplitsAtTheSeparator() throws IOException {
+        SessionIO io = session("$range 1 7\n1  2   8\n  3 \n\n   \n$ALL\n");
+        assertArrayEquals(new String[]{"$range", "1", "7"}, io.formattedRead(' '));
+        assertArrayEquals(new String[]{"1", "2", "8"}, io.formattedRead(' '));
+        assertArrayEquals(new String[]{"3"}, io.formattedRead(' '));
+        assertArrayEquals(new String[]{""}, io.formattedRead(' '));
+        assertArrayEquals(new String[]{""}, io.formattedRead(' '));
+        assertArrayEquals(new String[]{"$all"}, io.formattedRead(' '));
+        assertArrayEquals(new String[]{"$exit"}, io.formattedRead(' '));
+    }
+
+    @Test
+    void outputIsWrittenBeforeReading() throws IOException {
+        SessionIO io = session("answer\n");
+        io.write("Question");
+        io.writeWait("?");
+        assertEquals(0, out.size());
+        io.readLine();
+        assertTrue(out.toString(StandardCharsets.UTF_8).startsWith("Question?"));
+    }
+
+    @Test
+    void closeFlushesAndClosesTheChannel() throws IOException {
+        SessionIO io = session("");
+        io.write("こんにちは");
+        io.close();
+        assertEquals("こんにちは", out.toString(StandardCharsets.UTF_8));
+        assertFalse(channel.isOpen());
+    }
+}
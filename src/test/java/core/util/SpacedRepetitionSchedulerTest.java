@@ -0,0 +1,55 @@
+package core.util;
+
+import core.progress.Progress;
+import org.junit.jupiter.api.Test;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SpacedRepetitionSchedulerTest {
+
+    @Test
+    void everyVocabularyIsAskedOnceAtTheStart() {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(5, new SplittableRandom(1));
+        Set<Integer> asked = new HashSet<>();
+        for (int i = 0; i < 5; i++) {
+            int vocabulary = scheduler.next();
+            scheduler.graded(vocabulary, Grade.CORRECT);
+            asked.add(vocabulary);
+        }
+        assertEquals(Set.of(0, 1, 2, 3, 4), asked);
+    }
+
+    @Test
+    void wrongAnswersComeBackSoon() {
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(3, new SplittableRandom(1));
+        int wrong = scheduler.next();
+        scheduler.graded(wrong, Grade.WRONG);
+        for (int i = 1; i < SpacedRepetitionScheduler.RELEARN_STEPS; i++) {
+            int vocabulary = scheduler.next();
+            assertNotEquals(wrong, vocabulary);
+            scheduler.graded(vocabulary, Grade.CORRECT);
+        }
+        assertEquals(wrong, scheduler.next());
+    }
+
+    @Test
+    void knownVocabulariesOfEarlierSessionsComeLater() {
+        Progress known = new Progress(3, 3, 0, 3, 100);
+        Progress forgotten = new Progress(3, 2, 0, 0, 100);
+        SpacedRepetitionScheduler scheduler = new SpacedRepetitionScheduler(3, new SplittableRandom(1),
+                vocabulary -> switch (vocabulary) {
+                    case 0 -> known;
+                    case 1 -> forgotten;
+                    default -> Progress.NONE;
+                });
+        for (int i = 0; i < 6; i++) {
+            int vocabulary = scheduler.next();
+            assertNotEquals(0, vocabulary);
+            scheduler.graded(vocabulary, Grade.CORRECT);
+        }
+    }
+}